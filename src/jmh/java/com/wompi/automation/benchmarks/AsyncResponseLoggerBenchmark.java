@@ -0,0 +1,68 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.logging.AsyncResponseLogger;
+import com.wompi.automation.logging.LogSampler;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the cost of logging a response on the calling thread
+ * The writer's output is silenced so only the hand-off to the ring buffer is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.log.com.wompi.automation.logging=warn")
+@Threads(4)
+public class AsyncResponseLoggerBenchmark {
+
+    private Response created;
+    private Response declined;
+    private AsyncResponseLogger everything;
+    private AsyncResponseLogger failuresOnly;
+
+    @Setup
+    public void setUp() {
+        Headers headers = new Headers(new Header("Content-Type", "application/json"),
+                new Header("Authorization", "Bearer prv_test_benchmark"));
+        created = new ResponseBuilder().setStatusCode(201).setStatusLine("HTTP/1.1 201 Created")
+                .setHeaders(headers).setBody(BenchmarkPayloads.PSE_TRANSACTION_RESPONSE).build();
+        declined = new ResponseBuilder().setStatusCode(422).setStatusLine("HTTP/1.1 422 Unprocessable Entity")
+                .setHeaders(headers).setBody(BenchmarkPayloads.ERROR_RESPONSE).build();
+        everything = new AsyncResponseLogger(1024, LogSampler.ALL, 2048);
+        failuresOnly = new AsyncResponseLogger(1024, new LogSampler(1.0, 0.0), 2048);
+    }
+
+    @TearDown
+    public void tearDown() {
+        everything.close();
+        failuresOnly.close();
+    }
+
+    @Benchmark
+    public boolean logQueued() {
+        return everything.log(declined, "Benchmark");
+    }
+
+    @Benchmark
+    public boolean logSampledOut() {
+        return failuresOnly.log(created, "Benchmark");
+    }
+}
@@ -0,0 +1,156 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+
+/**
+ * Fixed payloads shared by the benchmarks
+ * Mirrors the shape of real Wompi requests and responses without depending on local configuration
+ */
+final class BenchmarkPayloads {
+
+    /**
+     * PSE transaction as returned by POST /transactions, including fields the model ignores
+     */
+    static final String PSE_TRANSACTION_RESPONSE = """
+            {
+              "data": {
+                "id": "11854-1718045563-25581",
+                "created_at": "2024-06-10T18:52:43.551Z",
+                "finalized_at": null,
+                "amount_in_cents": 5000000,
+                "reference": "TEST_REF_VALID_1718045563218",
+                "customer_email": "test@example.com",
+                "currency": "COP",
+                "payment_method_type": "PSE",
+                "payment_method": {
+                  "type": "PSE",
+                  "extra": {
+                    "ticket_id": "118541718045563255811",
+                    "return_code": "SUCCESS",
+                    "request_date": "2024-06-10",
+                    "async_payment_url": "https://sandbox.wompi.co/v1/pse/redirect?ticket_id=118541718045563255811",
+                    "traceability_code": "3283712",
+                    "transaction_cycle": "1",
+                    "transaction_state": "PENDING",
+                    "external_identifier": "3283712",
+                    "bank_processing_date": "2024-06-10"
+                  },
+                  "user_type": 0,
+                  "user_legal_id": "12345678",
+                  "user_legal_id_type": "CC",
+                  "payment_description": "Valid PSE Payment Test",
+                  "financial_institution_code": "1007"
+                },
+                "status": "PENDING",
+                "status_message": null,
+                "billing_data": null,
+                "shipping_address": null,
+                "redirect_url": null,
+                "payment_source_id": null,
+                "payment_link_id": null,
+                "customer_data": {
+                  "full_name": "Test User",
+                  "phone_number": "+573001234567"
+                },
+                "bill_id": null,
+                "taxes": [],
+                "tip_in_cents": null
+              },
+              "meta": {}
+            }
+            """;
+
+    /**
+     * Nequi transaction after it has been approved
+     */
+    static final String NEQUI_TRANSACTION_RESPONSE = """
+            {
+              "data": {
+                "id": "11854-1718045601-31027",
+                "created_at": "2024-06-10T18:53:21.004Z",
+                "finalized_at": "2024-06-10T18:53:24.412Z",
+                "amount_in_cents": 5000000,
+                "reference": "TEST_REF_NEQUI_VALID_1718045600987",
+                "customer_email": "nequi@example.com",
+                "currency": "COP",
+                "payment_method_type": "NEQUI",
+                "payment_method": {
+                  "type": "NEQUI",
+                  "extra": {
+                    "transaction_id": "M1234567-1718045601"
+                  },
+                  "phone_number": "3991111111"
+                },
+                "status": "APPROVED",
+                "status_message": null,
+                "shipping_address": null,
+                "payment_source_id": null,
+                "payment_link_id": null,
+                "taxes": []
+              },
+              "meta": {}
+            }
+            """;
+
+    /**
+     * Validation error returned for a request with missing fields
+     */
+    static final String ERROR_RESPONSE = """
+            {
+              "error": {
+                "type": "INPUT_VALIDATION_ERROR",
+                "messages": {
+                  "reference": ["La referencia ya ha sido usada"],
+                  "payment_method.financial_institution_code": ["Debe ser un código válido"]
+                }
+              }
+            }
+            """;
+
+    private BenchmarkPayloads() {
+    }
+
+    static PSEPaymentRequest psePaymentRequest() {
+        return PSEPaymentRequest.builder()
+                .amountInCents(5000000)
+                .currency("COP")
+                .customerEmail("test@example.com")
+                .reference("TEST_REF_VALID_1718045563218")
+                .paymentSourceId(1)
+                .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
+                        .type("PSE")
+                        .userType("PERSON")
+                        .userLegalId("12345678")
+                        .userLegalIdType("CC")
+                        .financialInstitutionCode("1007")
+                        .paymentDescription("Valid PSE Payment Test")
+                        .build())
+                .customerData(PSEPaymentRequest.CustomerData.builder()
+                        .email("test@example.com")
+                        .fullName("Test User")
+                        .phoneNumber("3001234567")
+                        .build())
+                .build();
+    }
+
+    static NequiPaymentRequest nequiPaymentRequest() {
+        return NequiPaymentRequest.builder()
+                .amountInCents(5000000)
+                .currency("COP")
+                .customerEmail("nequi@example.com")
+                .reference("TEST_REF_NEQUI_VALID_1718045600987")
+                .paymentSourceId(1)
+                .paymentMethod(NequiPaymentRequest.PaymentMethod.builder()
+                        .type("NEQUI")
+                        .phoneNumber("3991111111")
+                        .paymentDescription("Valid Nequi Payment Test")
+                        .build())
+                .customerData(NequiPaymentRequest.CustomerData.builder()
+                        .email("nequi@example.com")
+                        .fullName("Nequi User")
+                        .phoneNumber("3991111111")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.feeds.DataFeed;
+import com.wompi.automation.feeds.FeedStrategy;
+import com.wompi.automation.feeds.PaymentFeeds;
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading payment requests from memory-mapped data feeds
+ * The feed files are generated in a temporary directory, so no test data is needed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataFeedBenchmark {
+
+    private static final int RECORDS = 100_000;
+
+    private Path directory;
+    private DataFeed<PSEPaymentRequest> pseCsvFeed;
+    private DataFeed<NequiPaymentRequest> nequiJsonLinesFeed;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("data-feed-benchmark");
+        Path csv = directory.resolve("pse.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("amount_in_cents,customer_email,user_legal_id,user_legal_id_type,"
+                    + "financial_institution_code,full_name,phone_number\n");
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write(1000 + i + ",user" + i + "@example.com," + (10_000_000 + i)
+                        + ",CC,1,\"Test User " + i + "\",573001234567\n");
+            }
+        }
+        Path jsonLines = directory.resolve("nequi.jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(jsonLines)) {
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write("{\"amount_in_cents\":1500,\"currency\":\"COP\",\"customer_email\":\"user" + i
+                        + "@example.com\",\"payment_method\":{\"type\":\"NEQUI\",\"phone_number\":\"3991111111\","
+                        + "\"payment_description\":\"Feed\"},\"payment_source_id\":1,\"customer_data\":"
+                        + "{\"email\":\"user" + i + "@example.com\",\"full_name\":\"Test User\","
+                        + "\"phone_number\":\"573001234567\"}}\n");
+            }
+        }
+        pseCsvFeed = PaymentFeeds.psePayments(csv, FeedStrategy.CIRCULAR);
+        nequiJsonLinesFeed = PaymentFeeds.nequiPayments(jsonLines, FeedStrategy.RANDOM);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public PSEPaymentRequest nextPSEFromCsv() {
+        return pseCsvFeed.next();
+    }
+
+    @Benchmark
+    public NequiPaymentRequest nextNequiFromJsonLines() {
+        return nequiJsonLinesFeed.next();
+    }
+}
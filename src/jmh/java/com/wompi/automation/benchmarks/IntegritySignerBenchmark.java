@@ -0,0 +1,35 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.signature.IntegritySigner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for computing transaction integrity signatures
+ * Runs with several threads so the workspace pool is shared, as it is during a load run
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class IntegritySignerBenchmark {
+
+    private final IntegritySigner signer = new IntegritySigner("test_integrity_benchmark_secret");
+
+    @Benchmark
+    public String sign() {
+        return signer.sign("TEST_REF_VALID_1234567890123456", 5_000_000, "COP");
+    }
+}
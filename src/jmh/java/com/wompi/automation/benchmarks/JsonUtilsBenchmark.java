@@ -0,0 +1,90 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.utils.JsonUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for JSON serialization of request models and deserialization of API responses
+ * Covers the JsonUtils paths used on every request sent and every response checked
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private PSEPaymentRequest pseRequest;
+    private NequiPaymentRequest nequiRequest;
+    private String pseRequestJson;
+    private byte[] pseTransactionResponseBytes;
+
+    @Setup
+    public void setUp() {
+        pseRequest = BenchmarkPayloads.psePaymentRequest();
+        nequiRequest = BenchmarkPayloads.nequiPaymentRequest();
+        pseRequestJson = JsonUtils.toJson(pseRequest);
+        pseTransactionResponseBytes = BenchmarkPayloads.PSE_TRANSACTION_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String serializePSEPaymentRequest() {
+        return JsonUtils.toJson(pseRequest);
+    }
+
+    @Benchmark
+    public byte[] serializePSEPaymentRequestToBytes() {
+        return JsonUtils.toJsonBytes(pseRequest);
+    }
+
+    @Benchmark
+    public String serializeNequiPaymentRequest() {
+        return JsonUtils.toJson(nequiRequest);
+    }
+
+    @Benchmark
+    public PSEPaymentRequest deserializePSEPaymentRequest() {
+        return JsonUtils.fromJson(pseRequestJson, PSEPaymentRequest.class);
+    }
+
+    @Benchmark
+    public WompiResponse deserializePSETransactionResponse() {
+        return JsonUtils.fromJson(BenchmarkPayloads.PSE_TRANSACTION_RESPONSE, WompiResponse.class);
+    }
+
+    @Benchmark
+    public WompiResponse deserializePSETransactionResponseFromBytes() {
+        return JsonUtils.fromJson(pseTransactionResponseBytes, WompiResponse.class);
+    }
+
+    @Benchmark
+    public WompiResponse deserializeNequiTransactionResponse() {
+        return JsonUtils.fromJson(BenchmarkPayloads.NEQUI_TRANSACTION_RESPONSE, WompiResponse.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> deserializeErrorResponse() {
+        return JsonUtils.fromJson(BenchmarkPayloads.ERROR_RESPONSE, Map.class);
+    }
+
+    @Benchmark
+    public String prettyPrintTransactionResponse() {
+        return JsonUtils.prettyPrint(BenchmarkPayloads.PSE_TRANSACTION_RESPONSE);
+    }
+}
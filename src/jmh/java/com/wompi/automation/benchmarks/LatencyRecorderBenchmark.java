@@ -0,0 +1,44 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.metrics.LatencyRecorder;
+import com.wompi.automation.metrics.LatencySnapshot;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for recording call latencies
+ * Runs with several threads so contention on a shared series is part of the measurement
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LatencyRecorderBenchmark {
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @Benchmark
+    public void record() {
+        recorder.record("POST /transactions", "PSE", ThreadLocalRandom.current().nextLong(1_000_000, 500_000_000));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<LatencySnapshot> snapshot() {
+        return recorder.snapshot();
+    }
+}
@@ -0,0 +1,65 @@
+package com.wompi.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.utils.JsonUtils;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading single fields from responses
+ * Compares streaming extraction against binding the full WompiResponse model
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFieldExtractorBenchmark {
+
+    private static final ResponseFieldExtractor STATUS = ResponseFieldExtractor.of("data.status");
+    private static final ResponseFieldExtractor ID_AND_STATUS = ResponseFieldExtractor.of("data.id", "data.status");
+    private static final ResponseFieldExtractor ERROR_MESSAGES = ResponseFieldExtractor.of("error.messages");
+
+    private byte[] transactionResponse;
+    private byte[] errorResponse;
+
+    @Setup
+    public void setUp() {
+        transactionResponse = BenchmarkPayloads.PSE_TRANSACTION_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        errorResponse = BenchmarkPayloads.ERROR_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String statusByBindingModel() {
+        return JsonUtils.fromJson(transactionResponse, WompiResponse.class).getData().getStatus();
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> statusByExtractor() {
+        return STATUS.extract(transactionResponse);
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> idAndStatusByExtractor() {
+        return ID_AND_STATUS.extract(transactionResponse);
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> errorMessagesByExtractor() {
+        return ERROR_MESSAGES.extract(errorResponse);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.builders.TestDataBuilder;
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for building payment requests from test data
+ * Requires testdata.properties on the test classpath, as the Cucumber scenarios do
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestDataBuilderBenchmark {
+
+    @Setup
+    public void setUp() {
+        if (TestDataBuilder.getTestDataProperty("test.amount.normal") == null) {
+            throw new IllegalStateException("testdata.properties not found on the test classpath");
+        }
+    }
+
+    @Benchmark
+    public PSEPaymentRequest buildValidPSEPaymentRequest() {
+        return TestDataBuilder.buildValidPSEPaymentRequest();
+    }
+
+    @Benchmark
+    public PSEPaymentRequest buildInvalidBankDataPSEPaymentRequest() {
+        return TestDataBuilder.buildInvalidBankDataPSEPaymentRequest();
+    }
+
+    @Benchmark
+    public PSEPaymentRequest buildInsufficientFundsPSEPaymentRequest() {
+        return TestDataBuilder.buildInsufficientFundsPSEPaymentRequest();
+    }
+
+    @Benchmark
+    public PSEPaymentRequest buildTimeoutPSEPaymentRequest() {
+        return TestDataBuilder.buildTimeoutPSEPaymentRequest();
+    }
+
+    @Benchmark
+    public NequiPaymentRequest buildValidNequiPaymentRequest() {
+        return TestDataBuilder.buildValidNequiPaymentRequest();
+    }
+
+    @Benchmark
+    public NequiPaymentRequest buildInvalidNequiPaymentRequest() {
+        return TestDataBuilder.buildInvalidNequiPaymentRequest();
+    }
+}
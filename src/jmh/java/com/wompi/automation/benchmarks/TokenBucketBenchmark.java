@@ -0,0 +1,41 @@
+package com.wompi.automation.benchmarks;
+
+import com.wompi.automation.ratelimit.TokenBucket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for taking permits from a shared token bucket
+ * The rate is high enough that permits never run out, so only the compare-and-set contention is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenBucketBenchmark {
+
+    private final TokenBucket bucket = new TokenBucket(1_000_000_000, 1_000_000);
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return bucket.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        return bucket.acquire(Duration.ZERO);
+    }
+}
@@ -0,0 +1,45 @@
+package com.wompi.automation.builders;
+
+import com.wompi.automation.models.NequiPaymentRequest;
+
+/**
+ * Immutable static part of a Nequi payment request
+ * Resolved once from test data; every request is a fresh copy with its own reference,
+ * so a template can be shared between threads and callers may modify the requests they get
+ */
+public record NequiPaymentTemplate(
+        Integer amountInCents,
+        String currency,
+        String customerEmail,
+        String referencePrefix,
+        Integer paymentSourceId,
+        String nequiPhoneNumber,
+        String paymentDescription,
+        String fullName,
+        String phoneNumber) {
+
+    /**
+     * Creates a request with a new unique reference
+     * @return New Nequi payment request
+     */
+    public NequiPaymentRequest newRequest() {
+        return newRequest(ReferenceGenerator.shared().next(referencePrefix));
+    }
+
+    /**
+     * Creates a request with the given reference
+     * @param reference The transaction reference
+     * @return New Nequi payment request
+     */
+    public NequiPaymentRequest newRequest(String reference) {
+        return new NequiPaymentRequest(
+                amountInCents,
+                currency,
+                customerEmail,
+                new NequiPaymentRequest.PaymentMethod("NEQUI", nequiPhoneNumber, paymentDescription),
+                reference,
+                paymentSourceId,
+                new NequiPaymentRequest.CustomerData(customerEmail, fullName, phoneNumber),
+                null); // Signature, computed by the page when the request is sent
+    }
+}
@@ -0,0 +1,49 @@
+package com.wompi.automation.builders;
+
+import com.wompi.automation.models.PSEPaymentRequest;
+
+/**
+ * Immutable static part of a PSE payment request
+ * Resolved once from test data; every request is a fresh copy with its own reference,
+ * so a template can be shared between threads and callers may modify the requests they get
+ */
+public record PSEPaymentTemplate(
+        Integer amountInCents,
+        String currency,
+        String customerEmail,
+        String referencePrefix,
+        Integer paymentSourceId,
+        String userType,
+        String userLegalId,
+        String userLegalIdType,
+        String financialInstitutionCode,
+        String paymentDescription,
+        String fullName,
+        String phoneNumber) {
+
+    /**
+     * Creates a request with a new unique reference
+     * @return New PSE payment request
+     */
+    public PSEPaymentRequest newRequest() {
+        return newRequest(ReferenceGenerator.shared().next(referencePrefix));
+    }
+
+    /**
+     * Creates a request with the given reference
+     * @param reference The transaction reference
+     * @return New PSE payment request
+     */
+    public PSEPaymentRequest newRequest(String reference) {
+        return new PSEPaymentRequest(
+                amountInCents,
+                currency,
+                customerEmail,
+                new PSEPaymentRequest.PaymentMethod(
+                        "PSE", userType, userLegalId, userLegalIdType, financialInstitutionCode, paymentDescription),
+                reference,
+                paymentSourceId,
+                new PSEPaymentRequest.CustomerData(customerEmail, fullName, phoneNumber),
+                null); // Signature, computed by the page when the request is sent
+    }
+}
@@ -0,0 +1,107 @@
+package com.wompi.automation.builders;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates unique transaction references without locking
+ * Ids are Snowflake style: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12 bit sequence,
+ * so different JVMs stay apart as long as each one runs with its own node id
+ */
+public final class ReferenceGenerator {
+
+    /** System property, or WOMPI_REFERENCE_NODE_ID environment variable, that fixes the node id */
+    public static final String NODE_ID_PROPERTY = "reference.node.id";
+
+    /** Shard index of a suite split across JVMs, see ShardSelector; used as node id when none is configured */
+    static final String SHARD_INDEX_PROPERTY = "shard.index";
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+
+    private static final ReferenceGenerator SHARED = new ReferenceGenerator(defaultNodeId());
+
+    private final long nodeBits;
+    private final int nodeId;
+
+    /**
+     * Last issued timestamp and sequence, packed as (millis << SEQUENCE_BITS) | sequence
+     * Incrementing it moves to the next sequence, and a full sequence carries into the next millisecond
+     */
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    /**
+     * Creates a generator for one node
+     * @param nodeId Node id between 0 and 1023, unique among the JVMs sending transactions at the same time
+     */
+    public ReferenceGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Gets the generator shared by the whole JVM
+     * @return Shared generator
+     */
+    public static ReferenceGenerator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Generates the next unique id
+     * Never repeats within this generator, even if the clock goes backwards; above 4096 ids in one
+     * millisecond the timestamp runs ahead of the clock until the rate drops again
+     * @return Positive unique id
+     */
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = lastTimeAndSequence.updateAndGet(last -> Math.max(now, last + 1));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_ID_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    /**
+     * Generates the next unique reference
+     * @param prefix Text placed before the id
+     * @return Prefix followed by a unique id
+     */
+    public String next(String prefix) {
+        return prefix + nextId();
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Uses the configured node id, then the shard index, or derives one from the host name and process id
+     * A derived id can collide between JVMs; shards get distinct ids from their index without extra settings
+     */
+    private static int defaultNodeId() {
+        String configured = System.getProperty(NODE_ID_PROPERTY, System.getenv("WOMPI_REFERENCE_NODE_ID"));
+        if (configured != null && !configured.isBlank()) {
+            return Integer.parseInt(configured.trim());
+        }
+        String shardIndex = System.getProperty(SHARD_INDEX_PROPERTY);
+        if (shardIndex != null && !shardIndex.isBlank()) {
+            return Integer.parseInt(shardIndex.trim());
+        }
+        String host = System.getenv("HOSTNAME");
+        if (host == null) {
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "localhost";
+            }
+        }
+        int hash = 31 * host.hashCode() + Long.hashCode(ProcessHandle.current().pid());
+        return (hash ^ (hash >>> 16)) & MAX_NODE_ID;
+    }
+}
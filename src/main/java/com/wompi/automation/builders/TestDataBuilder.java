@@ -1,5 +1,6 @@
 package com.wompi.automation.builders;
 
+import com.wompi.automation.metrics.StartupTimer;
 import com.wompi.automation.models.NequiPaymentRequest;
 import com.wompi.automation.models.PSEPaymentRequest;
 import java.util.Properties;
@@ -8,17 +9,32 @@ import java.io.InputStream;
 /**
  * Builder class for creating test data
  * Provides methods to build various PSE payment request scenarios
+ * Test data is resolved once into immutable templates; each build call only copies a template with a new reference.
+ * The templates are resolved on the first build, so loading this class does not read test data
  */
 public class TestDataBuilder {
     
-    private static Properties testDataProperties;
-    
-    static {
-        loadTestDataProperties();
+    /**
+     * Holds the test data, which is read on first use instead of when the class loads
+     */
+    private static final class Templates {
+        static final Properties PROPERTIES = StartupTimer.time("test data", TestDataBuilder::loadTestDataProperties);
+        static final PSEPaymentTemplate VALID_PSE =
+                pseTemplate(PROPERTIES, "valid", "test.amount.normal", "VALID", "Valid PSE Payment Test");
+        static final PSEPaymentTemplate INVALID_BANK_DATA_PSE = pseTemplate(PROPERTIES, "invalid",
+                "test.amount.normal", "INVALID", "Invalid Bank Data PSE Payment Test");
+        static final PSEPaymentTemplate INSUFFICIENT_FUNDS_PSE = pseTemplate(PROPERTIES, "valid",
+                "test.amount.insufficient", "INSUFFICIENT", "Insufficient Funds PSE Payment Test");
+        static final PSEPaymentTemplate TIMEOUT_PSE =
+                pseTemplate(PROPERTIES, "valid", "test.amount.normal", "TIMEOUT", "Timeout PSE Payment Test");
+        static final NequiPaymentTemplate VALID_NEQUI =
+                nequiTemplate(PROPERTIES, "valid", "NEQUI_VALID", "Valid Nequi Payment Test");
+        static final NequiPaymentTemplate INVALID_NEQUI =
+                nequiTemplate(PROPERTIES, "invalid", "NEQUI_INVALID", "Invalid Nequi Payment Test");
     }
     
-    private static void loadTestDataProperties() {
-        testDataProperties = new Properties();
+    private static Properties loadTestDataProperties() {
+        Properties testDataProperties = new Properties();
         try (InputStream input = TestDataBuilder.class.getClassLoader()
                 .getResourceAsStream("testdata.properties")) {
             if (input != null) {
@@ -27,6 +43,74 @@ public class TestDataBuilder {
         } catch (Exception e) {
             throw new RuntimeException("Error loading test data properties", e);
         }
+        return testDataProperties;
+    }
+    
+    /**
+     * Resolves a PSE scenario from test data
+     * @param data Test data properties
+     * @param dataSet Prefix of the person and bank properties, valid or invalid
+     * @param amountKey Property holding the amount in cents
+     * @param referenceTag Tag placed in the reference after the configured prefix
+     * @param description Payment description
+     * @return Immutable template for the scenario
+     */
+    private static PSEPaymentTemplate pseTemplate(Properties data, String dataSet, String amountKey,
+                                                  String referenceTag, String description) {
+        return new PSEPaymentTemplate(
+                parseAmount(data, amountKey),
+                "COP",
+                data.getProperty(dataSet + ".pse.person.email"),
+                referencePrefix(data, referenceTag),
+                1,
+                "PERSON",
+                data.getProperty(dataSet + ".pse.person.document"),
+                data.getProperty(dataSet + ".pse.person.type"),
+                data.getProperty(dataSet + ".pse.bank.code"),
+                description,
+                data.getProperty(dataSet + ".pse.person.name"),
+                data.getProperty(dataSet + ".pse.person.mobile"));
+    }
+    
+    /**
+     * Resolves a Nequi scenario from test data
+     * @param data Test data properties
+     * @param dataSet Prefix of the person and phone properties, valid or invalid
+     * @param referenceTag Tag placed in the reference after the configured prefix
+     * @param description Payment description
+     * @return Immutable template for the scenario
+     */
+    private static NequiPaymentTemplate nequiTemplate(Properties data, String dataSet, String referenceTag,
+                                                      String description) {
+        return new NequiPaymentTemplate(
+                parseAmount(data, "test.amount.normal"),
+                "COP",
+                data.getProperty(dataSet + ".nequi.person.email"),
+                referencePrefix(data, referenceTag),
+                1,
+                data.getProperty(dataSet + ".nequi.phone.number"),
+                description,
+                data.getProperty(dataSet + ".nequi.person.name"),
+                data.getProperty(dataSet + ".nequi.person.mobile"));
+    }
+    
+    /**
+     * Parses an amount once; a missing amount stays empty so the class still loads without test data
+     */
+    private static Integer parseAmount(Properties data, String key) {
+        String value = data.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid amount in test data property " + key + ": " + value, e);
+        }
+    }
+    
+    private static String referencePrefix(Properties data, String referenceTag) {
+        return data.getProperty("test.reference.prefix") + referenceTag + "_";
     }
     
     /**
@@ -34,26 +118,7 @@ public class TestDataBuilder {
      * @return PSEPaymentRequest with valid test data
      */
     public static PSEPaymentRequest buildValidPSEPaymentRequest() {
-        return PSEPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.normal")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("valid.pse.person.email"))
-                .reference(generateReference("VALID"))
-                .paymentSourceId(1)
-                .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
-                        .type("PSE")
-                        .userType("PERSON")
-                        .userLegalId(testDataProperties.getProperty("valid.pse.person.document"))
-                        .userLegalIdType(testDataProperties.getProperty("valid.pse.person.type"))
-                        .financialInstitutionCode(testDataProperties.getProperty("valid.pse.bank.code"))
-                        .paymentDescription("Valid PSE Payment Test")
-                        .build())
-                .customerData(PSEPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("valid.pse.person.email"))
-                        .fullName(testDataProperties.getProperty("valid.pse.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("valid.pse.person.mobile"))
-                        .build())
-                .build();
+        return Templates.VALID_PSE.newRequest();
     }
     
     /**
@@ -61,26 +126,7 @@ public class TestDataBuilder {
      * @return PSEPaymentRequest with invalid bank data
      */
     public static PSEPaymentRequest buildInvalidBankDataPSEPaymentRequest() {
-        return PSEPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.normal")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("invalid.pse.person.email"))
-                .reference(generateReference("INVALID"))
-                .paymentSourceId(1)
-                .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
-                        .type("PSE")
-                        .userType("PERSON")
-                        .userLegalId(testDataProperties.getProperty("invalid.pse.person.document"))
-                        .userLegalIdType(testDataProperties.getProperty("invalid.pse.person.type"))
-                        .financialInstitutionCode(testDataProperties.getProperty("invalid.pse.bank.code"))
-                        .paymentDescription("Invalid Bank Data PSE Payment Test")
-                        .build())
-                .customerData(PSEPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("invalid.pse.person.email"))
-                        .fullName(testDataProperties.getProperty("invalid.pse.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("invalid.pse.person.mobile"))
-                        .build())
-                .build();
+        return Templates.INVALID_BANK_DATA_PSE.newRequest();
     }
     
     /**
@@ -88,26 +134,7 @@ public class TestDataBuilder {
      * @return PSEPaymentRequest with high amount
      */
     public static PSEPaymentRequest buildInsufficientFundsPSEPaymentRequest() {
-        return PSEPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.insufficient")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("valid.pse.person.email"))
-                .reference(generateReference("INSUFFICIENT"))
-                .paymentSourceId(1)
-                .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
-                        .type("PSE")
-                        .userType("PERSON")
-                        .userLegalId(testDataProperties.getProperty("valid.pse.person.document"))
-                        .userLegalIdType(testDataProperties.getProperty("valid.pse.person.type"))
-                        .financialInstitutionCode(testDataProperties.getProperty("valid.pse.bank.code"))
-                        .paymentDescription("Insufficient Funds PSE Payment Test")
-                        .build())
-                .customerData(PSEPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("valid.pse.person.email"))
-                        .fullName(testDataProperties.getProperty("valid.pse.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("valid.pse.person.mobile"))
-                        .build())
-                .build();
+        return Templates.INSUFFICIENT_FUNDS_PSE.newRequest();
     }
     
     /**
@@ -115,36 +142,7 @@ public class TestDataBuilder {
      * @return PSEPaymentRequest for timeout scenario
      */
     public static PSEPaymentRequest buildTimeoutPSEPaymentRequest() {
-        return PSEPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.normal")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("valid.pse.person.email"))
-                .reference(generateReference("TIMEOUT"))
-                .paymentSourceId(1)
-                .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
-                        .type("PSE")
-                        .userType("PERSON")
-                        .userLegalId(testDataProperties.getProperty("valid.pse.person.document"))
-                        .userLegalIdType(testDataProperties.getProperty("valid.pse.person.type"))
-                        .financialInstitutionCode(testDataProperties.getProperty("valid.pse.bank.code"))
-                        .paymentDescription("Timeout PSE Payment Test")
-                        .build())
-                .customerData(PSEPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("valid.pse.person.email"))
-                        .fullName(testDataProperties.getProperty("valid.pse.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("valid.pse.person.mobile"))
-                        .build())
-                .build();
-    }
-    
-    /**
-     * Generates a unique reference for test transactions
-     * @param prefix The prefix for the reference
-     * @return Unique reference string
-     */
-    private static String generateReference(String prefix) {
-        return testDataProperties.getProperty("test.reference.prefix") + 
-               prefix + "_" + System.currentTimeMillis();
+        return Templates.TIMEOUT_PSE.newRequest();
     }
     
     /**
@@ -153,7 +151,7 @@ public class TestDataBuilder {
      * @return Property value
      */
     public static String getTestDataProperty(String key) {
-        return testDataProperties.getProperty(key);
+        return Templates.PROPERTIES.getProperty(key);
     }
 
     /**
@@ -161,23 +159,7 @@ public class TestDataBuilder {
      * @return NequiPaymentRequest with valid test data
      */
     public static NequiPaymentRequest buildValidNequiPaymentRequest() {
-        return NequiPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.normal")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("valid.nequi.person.email"))
-                .reference(generateReference("NEQUI_VALID"))
-                .paymentSourceId(1)
-                .paymentMethod(NequiPaymentRequest.PaymentMethod.builder()
-                        .type("NEQUI")
-                        .phoneNumber(testDataProperties.getProperty("valid.nequi.phone.number"))
-                        .paymentDescription("Valid Nequi Payment Test")
-                        .build())
-                .customerData(NequiPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("valid.nequi.person.email"))
-                        .fullName(testDataProperties.getProperty("valid.nequi.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("valid.nequi.person.mobile"))
-                        .build())
-                .build();
+        return Templates.VALID_NEQUI.newRequest();
     }
 
     /**
@@ -185,22 +167,6 @@ public class TestDataBuilder {
      * @return NequiPaymentRequest with invalid phone number
      */
     public static NequiPaymentRequest buildInvalidNequiPaymentRequest() {
-        return NequiPaymentRequest.builder()
-                .amountInCents(Integer.parseInt(testDataProperties.getProperty("test.amount.normal")))
-                .currency("COP")
-                .customerEmail(testDataProperties.getProperty("invalid.nequi.person.email"))
-                .reference(generateReference("NEQUI_INVALID"))
-                .paymentSourceId(1)
-                .paymentMethod(NequiPaymentRequest.PaymentMethod.builder()
-                        .type("NEQUI")
-                        .phoneNumber(testDataProperties.getProperty("invalid.nequi.phone.number"))
-                        .paymentDescription("Invalid Nequi Payment Test")
-                        .build())
-                .customerData(NequiPaymentRequest.CustomerData.builder()
-                        .email(testDataProperties.getProperty("invalid.nequi.person.email"))
-                        .fullName(testDataProperties.getProperty("invalid.nequi.person.name"))
-                        .phoneNumber(testDataProperties.getProperty("invalid.nequi.person.mobile"))
-                        .build())
-                .build();
+        return Templates.INVALID_NEQUI.newRequest();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.wompi.automation.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.polling.TransactionStatusPoller;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache for transaction status lookups by id and by reference
+ * Transactions in a terminal status never change, so they stay cached until evicted by size;
+ * pending transactions are kept for a short TTL and error responses are never cached
+ */
+public class TransactionStatusCache {
+
+    private static final ResponseFieldExtractor DATA_FIELD = ResponseFieldExtractor.of("data");
+
+    private static volatile TransactionStatusCache shared;
+
+    private final AsyncCache<String, CachedResponse> byId;
+    private final AsyncCache<String, CachedResponse> byReference;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache
+     * @param maximumSize Maximum entries kept for each of the id and reference lookups
+     * @param pendingTtl How long a non-terminal status is served from the cache
+     */
+    public TransactionStatusCache(long maximumSize, Duration pendingTtl) {
+        this.byId = newCache(maximumSize, pendingTtl);
+        this.byReference = newCache(maximumSize, pendingTtl);
+    }
+
+    /**
+     * Gets the cache shared by all scenarios
+     * Sized by status.cache.max.size and status.cache.pending.ttl.ms
+     * @return Shared cache instance
+     */
+    public static TransactionStatusCache shared() {
+        TransactionStatusCache current = shared;
+        if (current == null) {
+            synchronized (TransactionStatusCache.class) {
+                current = shared;
+                if (current == null) {
+                    current = fromConfig(ConfigManager.getInstance());
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Creates a cache configured from optional status.cache.* properties
+     * @param config The configuration to read
+     * @return New cache
+     */
+    public static TransactionStatusCache fromConfig(ConfigManager config) {
+        return new TransactionStatusCache(
+                config.getIntProperty("status.cache.max.size", 10_000),
+                Duration.ofMillis(config.getIntProperty("status.cache.pending.ttl.ms", 500)));
+    }
+
+    /**
+     * Gets a transaction by id, calling the API only on a miss
+     * Concurrent misses for the same id share a single API call; the caller that made it gets the original response
+     * @param transactionId The transaction ID
+     * @param loader Calls the API
+     * @return Cached or fresh response
+     */
+    public Response getById(String transactionId, Supplier<Response> loader) {
+        return get(byId, transactionId, loader, false);
+    }
+
+    /**
+     * Gets the transactions for a reference, calling the API only on a miss
+     * The result is treated as terminal only when every transaction listed is terminal
+     * @param reference The transaction reference
+     * @param loader Calls the API
+     * @return Cached or fresh response
+     */
+    public Response getByReference(String reference, Supplier<Response> loader) {
+        return get(byReference, reference, loader, true);
+    }
+
+    /**
+     * Removes every cached entry
+     */
+    public void invalidateAll() {
+        byId.synchronous().invalidateAll();
+        byReference.synchronous().invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Looks up an entry, loading it on the calling thread on a miss
+     * The API call runs outside of any cache lock: a virtual thread blocked on I/O inside a compute
+     * would pin its carrier and can stall every other virtual thread, including a local stub server
+     */
+    private Response get(AsyncCache<String, CachedResponse> cache, String key, Supplier<Response> loader,
+                         boolean list) {
+        CompletableFuture<CachedResponse> loading = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            try {
+                CachedResponse cached = existing.join();
+                hits.increment();
+                return cached.toResponse();
+            } catch (CompletionException e) {
+                return loader.get(); // The shared call failed, so try once more on our own
+            }
+        }
+        misses.increment();
+        try {
+            Response response = loader.get();
+            loading.complete(CachedResponse.of(response, list));
+            return response;
+        } catch (Throwable e) {
+            // RestAssured rethrows checked I/O exceptions undeclared, so waiters must be released for any failure
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static AsyncCache<String, CachedResponse> newCache(long maximumSize, Duration pendingTtl) {
+        long pendingTtlNanos = pendingTtl.toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.lifetimeNanos(pendingTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.lifetimeNanos(pendingTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+    }
+
+    /**
+     * Detached copy of a response, rebuilt into a new Response on every hit
+     * so callers never share RestAssured response state
+     */
+    private record CachedResponse(int statusCode, String statusLine, Headers headers, String contentType,
+                                  byte[] body, boolean terminal, boolean cacheable) {
+
+        static CachedResponse of(Response response, boolean list) {
+            byte[] body = response.asByteArray();
+            boolean cacheable = response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+            boolean terminal = false;
+            if (cacheable) {
+                try {
+                    terminal = isTerminal(DATA_FIELD.extract(body).get("data"), list);
+                } catch (RuntimeException e) {
+                    cacheable = false; // Not JSON, so do not serve it again
+                }
+            }
+            return new CachedResponse(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                    response.getContentType(), body, terminal, cacheable);
+        }
+
+        private static boolean isTerminal(JsonNode data, boolean list) {
+            if (data == null) {
+                return false;
+            }
+            if (!list) {
+                return TransactionStatusPoller.isTerminal(data.path("status").asText(null));
+            }
+            if (!data.isArray() || data.isEmpty()) {
+                return false;
+            }
+            for (JsonNode transaction : data) {
+                if (!TransactionStatusPoller.isTerminal(transaction.path("status").asText(null))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long lifetimeNanos(long pendingTtlNanos) {
+            if (!cacheable) {
+                return 0;
+            }
+            return terminal ? Long.MAX_VALUE : pendingTtlNanos;
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
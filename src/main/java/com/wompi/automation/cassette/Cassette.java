@@ -0,0 +1,224 @@
+package com.wompi.automation.cassette;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RestAssured filter that records API exchanges to a journal or replays them without network
+ * Interactions are matched on method, path, query, credentials and the JSON body without its reference.
+ * Requests with the same key are answered in recording order and the last answer is repeated, so status
+ * polling replays the same progression. References are translated between the recorded and the current run,
+ * so lookups by reference and the references in response bodies match the requests the scenario sent
+ */
+public class Cassette implements Filter, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Cassette.class);
+    private static final ResponseFieldExtractor REFERENCE_FIELD = ResponseFieldExtractor.of("data.reference");
+
+    private final CassetteMode mode;
+    private final Path path;
+    private final String configuredPrivateKey;
+    private final CassetteJournal.Writer writer;
+    private final CassetteJournal.Reader reader;
+    private final Map<String, Track> tracks;
+    private final ConcurrentMap<String, String> recordedByLiveReference = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> liveByRecordedReference = new ConcurrentHashMap<>();
+    private final LongAdder interactions = new LongAdder();
+
+    private Cassette(CassetteMode mode, Path path, String configuredPrivateKey) throws IOException {
+        this.mode = mode;
+        this.path = path;
+        this.configuredPrivateKey = configuredPrivateKey;
+        if (mode == CassetteMode.RECORD) {
+            this.writer = new CassetteJournal.Writer(path);
+            this.reader = null;
+            this.tracks = Map.of();
+        } else {
+            this.writer = null;
+            this.reader = new CassetteJournal.Reader(path);
+            Map<String, Track> index = new HashMap<>();
+            reader.offsetsByKey().forEach((key, offsets) ->
+                    index.put(key, new Track(offsets.stream().mapToInt(Integer::intValue).toArray())));
+            this.tracks = Map.copyOf(index);
+            logger.info("Loaded {} recorded interaction(s) for {} request(s) from {}",
+                    reader.entryCount(), tracks.size(), path);
+        }
+    }
+
+    /**
+     * Opens a cassette
+     * Recording replaces any journal already at the path
+     * @param path Journal file
+     * @param mode Record or replay
+     * @param configuredPrivateKey Private key from the configuration; requests sent with it match
+     *                             regardless of its value, so recordings replay with other keys
+     * @return Open cassette
+     */
+    public static Cassette open(Path path, CassetteMode mode, String configuredPrivateKey) {
+        try {
+            return new Cassette(mode, path, configuredPrivateKey);
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening cassette " + path + " for " + mode, e);
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String rawBody = bodyText(requestSpec.getBody());
+        JsonNode body = InteractionKey.parseBody(rawBody);
+        Map<String, String> queryParams = new HashMap<>(requestSpec.getQueryParams());
+        String reference = requestReference(body, queryParams);
+        String credentials = InteractionKey.credentialTag(requestSpec.getHeaders().getValue("Authorization"),
+                configuredPrivateKey);
+        return mode == CassetteMode.RECORD
+                ? record(requestSpec, responseSpec, ctx, queryParams, credentials, body, rawBody, reference)
+                : replay(requestSpec, queryParams, credentials, body, rawBody, reference);
+    }
+
+    private Response record(FilterableRequestSpecification requestSpec,
+                            FilterableResponseSpecification responseSpec, FilterContext ctx,
+                            Map<String, String> queryParams, String credentials, JsonNode body, String rawBody,
+                            String reference) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        byte[] responseBody = response.asByteArray();
+        if (reference == null) {
+            reference = responseReference(responseBody);
+        }
+        String key = InteractionKey.of(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), queryParams,
+                credentials, body, rawBody);
+        try {
+            writer.append(new CassetteJournal.Interaction(key, reference, response.getStatusCode(),
+                    response.getStatusLine(), response.getContentType(), responseBody));
+        } catch (IOException e) {
+            throw new RuntimeException("Error recording interaction to cassette " + path, e);
+        }
+        interactions.increment();
+        return response;
+    }
+
+    private Response replay(FilterableRequestSpecification requestSpec, Map<String, String> queryParams,
+                            String credentials, JsonNode body, String rawBody, String liveReference) {
+        boolean referenceInQuery = liveReference != null && queryParams.containsKey(InteractionKey.REFERENCE);
+        if (referenceInQuery) {
+            queryParams.put(InteractionKey.REFERENCE,
+                    recordedByLiveReference.getOrDefault(liveReference, liveReference));
+        }
+        String key = InteractionKey.of(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), queryParams,
+                credentials, body, rawBody);
+        Track track = tracks.get(key);
+        if (track == null) {
+            throw new RuntimeException("No recorded interaction in cassette " + path + " for "
+                    + requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath());
+        }
+        CassetteJournal.Interaction interaction = reader.read(track.next());
+        interactions.increment();
+
+        String recordedReference = interaction.reference();
+        if (recordedReference != null && liveReference != null && !referenceInQuery) {
+            recordedByLiveReference.put(liveReference, recordedReference);
+            liveByRecordedReference.put(recordedReference, liveReference);
+        } else if (recordedReference != null && liveReference == null) {
+            liveReference = liveByRecordedReference.get(recordedReference);
+        }
+
+        ResponseBuilder response = new ResponseBuilder()
+                .setStatusCode(interaction.statusCode())
+                .setStatusLine(interaction.statusLine())
+                .setContentType(interaction.contentType());
+        if (recordedReference != null && liveReference != null && !recordedReference.equals(liveReference)) {
+            response.setBody(new String(interaction.body(), StandardCharsets.UTF_8)
+                    .replace(recordedReference, liveReference));
+        } else {
+            response.setBody(interaction.body());
+        }
+        return response.build();
+    }
+
+    /**
+     * Gets how many interactions were recorded or replayed so far
+     * @return Interaction count
+     */
+    public long getInteractionCount() {
+        return interactions.sum();
+    }
+
+    public CassetteMode getMode() {
+        return mode;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        logger.info("Cassette {} {} {} interaction(s)", path,
+                mode == CassetteMode.RECORD ? "recorded" : "replayed", interactions.sum());
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Error closing cassette " + path, e);
+            }
+        }
+    }
+
+    private static String bodyText(Object body) {
+        if (body == null) {
+            return null;
+        }
+        return body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    private static String requestReference(JsonNode body, Map<String, String> queryParams) {
+        String reference = queryParams.get(InteractionKey.REFERENCE);
+        if (reference == null && body != null && body.hasNonNull(InteractionKey.REFERENCE)) {
+            reference = body.get(InteractionKey.REFERENCE).asText();
+        }
+        return reference;
+    }
+
+    private static String responseReference(byte[] responseBody) {
+        try {
+            return ResponseFieldExtractor.asText(REFERENCE_FIELD.extract(responseBody).get("data.reference"));
+        } catch (RuntimeException e) {
+            return null; // Not JSON
+        }
+    }
+
+    /**
+     * Recorded answers for one key, handed out in order with the last one repeated
+     */
+    private static final class Track {
+        private final int[] offsets;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Track(int[] offsets) {
+            this.offsets = offsets;
+        }
+
+        int next() {
+            int index = next.getAndUpdate(i -> Math.min(i + 1, offsets.length - 1));
+            return offsets[index];
+        }
+    }
+}
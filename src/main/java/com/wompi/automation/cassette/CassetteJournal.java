@@ -0,0 +1,200 @@
+package com.wompi.automation.cassette;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary file of recorded interactions
+ * Layout: magic and version, then entries of [int length][key][reference][status code][status line]
+ * [content type][body], where every string and the body are an int length (-1 for null) followed by the bytes.
+ * A truncated last entry, left by a run that was killed while recording, is ignored on read
+ */
+final class CassetteJournal {
+
+    static final int MAGIC = 0x57434153; // "WCAS"
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private CassetteJournal() {
+    }
+
+    /**
+     * One recorded request and its response
+     * @param key Lookup key from {@link InteractionKey}
+     * @param reference Transaction reference the exchange was about, or null
+     */
+    record Interaction(String key, String reference, int statusCode, String statusLine, String contentType,
+                       byte[] body) {
+    }
+
+    /**
+     * Appends interactions to a new journal
+     */
+    static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+
+        /**
+         * Creates the journal, replacing any previous recording at the same path
+         * @param path Journal file
+         */
+        Writer(Path path) throws IOException {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+        }
+
+        /**
+         * Appends one interaction as a single write
+         * @param interaction The interaction to append
+         */
+        void append(Interaction interaction) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + interaction.body().length);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // Entry length, filled in below
+            writeString(out, interaction.key());
+            writeString(out, interaction.reference());
+            out.writeInt(interaction.statusCode());
+            writeString(out, interaction.statusLine());
+            writeString(out, interaction.contentType());
+            writeBytes(out, interaction.body());
+            ByteBuffer entry = ByteBuffer.wrap(bytes.toByteArray());
+            entry.putInt(0, entry.remaining() - Integer.BYTES);
+            synchronized (this) {
+                while (entry.hasRemaining()) {
+                    channel.write(entry);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.force(false);
+            channel.close();
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    /**
+     * Reads interactions straight from a read-only mapping of the journal
+     */
+    static final class Reader {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final Map<String, List<Integer>> offsetsByKey = new HashMap<>();
+        private int entryCount;
+
+        /**
+         * Maps the journal and indexes every complete entry by key
+         * @param path Journal file
+         */
+        Reader(Path path) throws IOException {
+            this.path = path;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Cassette larger than 2 GB: " + path);
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a cassette file: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported cassette version " + buffer.getInt(4) + " in " + path);
+            }
+            int position = HEADER_SIZE;
+            while (position + Integer.BYTES <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length < 0 || position + Integer.BYTES + length > buffer.limit()) {
+                    break;
+                }
+                offsetsByKey.computeIfAbsent(readString(position + Integer.BYTES), key -> new ArrayList<>())
+                        .add(position);
+                entryCount++;
+                position += Integer.BYTES + length;
+            }
+        }
+
+        /**
+         * Gets the offsets of every entry recorded for each key, in recording order
+         * @return Offsets by key
+         */
+        Map<String, List<Integer>> offsetsByKey() {
+            return offsetsByKey;
+        }
+
+        int entryCount() {
+            return entryCount;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        /**
+         * Decodes the entry at an offset
+         * @param offset Offset from {@link #offsetsByKey()}
+         * @return Recorded interaction
+         */
+        Interaction read(int offset) {
+            int position = offset + Integer.BYTES;
+            String key = readString(position);
+            position += fieldSize(position);
+            String reference = readString(position);
+            position += fieldSize(position);
+            int statusCode = buffer.getInt(position);
+            position += Integer.BYTES;
+            String statusLine = readString(position);
+            position += fieldSize(position);
+            String contentType = readString(position);
+            position += fieldSize(position);
+            return new Interaction(key, reference, statusCode, statusLine, contentType, readBytes(position));
+        }
+
+        private int fieldSize(int position) {
+            return Integer.BYTES + Math.max(buffer.getInt(position), 0);
+        }
+
+        private String readString(int position) {
+            byte[] bytes = readBytes(position);
+            return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes(int position) {
+            int length = buffer.getInt(position);
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position + Integer.BYTES, bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.wompi.automation.cassette;
+
+/**
+ * What a cassette does with the requests that pass through it
+ */
+public enum CassetteMode {
+
+    /** Sends every request to the API and appends the exchange to the journal */
+    RECORD,
+
+    /** Answers every request from the journal without touching the network */
+    REPLAY
+}
@@ -0,0 +1,138 @@
+package com.wompi.automation.cassette;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wompi.automation.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Builds the lookup key of a recorded interaction from method, path, query, credentials and body
+ * Values that change on every run are left out of the body, and JSON fields are sorted,
+ * so the same request made in another run finds the same recording
+ */
+final class InteractionKey {
+
+    /** Top-level body fields that differ between runs of the same scenario; the signature covers the reference */
+    static final Set<String> VOLATILE_BODY_FIELDS = Set.of("reference", "signature");
+
+    static final String REFERENCE = "reference";
+
+    private InteractionKey() {
+    }
+
+    /**
+     * Builds a key
+     * @param method HTTP method
+     * @param path Request path relative to the base URI
+     * @param queryParams Query parameters, with any reference already translated to the recorded one
+     * @param credentials Credential tag from {@link #credentialTag(String, String)}
+     * @param body Parsed JSON body, or null when there is none
+     * @param rawBody Body text used when it is not JSON
+     * @return Lookup key
+     */
+    static String of(String method, String path, Map<String, String> queryParams, String credentials,
+                     JsonNode body, String rawBody) {
+        StringBuilder key = new StringBuilder(128)
+                .append(method).append(' ').append(path);
+        char separator = '?';
+        for (Map.Entry<String, String> param : new TreeMap<>(queryParams).entrySet()) {
+            key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+            separator = '&';
+        }
+        key.append(' ').append(credentials).append('\n');
+        if (body != null) {
+            appendCanonical(key, withoutVolatileFields(body));
+        } else if (rawBody != null) {
+            key.append(rawBody);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Parses a request body as JSON
+     * @param rawBody Body text
+     * @return JSON tree, or null if the body is empty or not JSON
+     */
+    static JsonNode parseBody(String rawBody) {
+        if (rawBody == null || rawBody.isBlank()) {
+            return null;
+        }
+        try {
+            return JsonUtils.fromJson(rawBody, JsonNode.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Names the credentials without keeping them
+     * The configured key is always "configured", so a recording made with the real key replays
+     * in environments that only have a placeholder; any other key is identified by a short hash
+     * @param authorization Authorization header sent, or null
+     * @param configuredPrivateKey Private key from the configuration
+     * @return Credential tag
+     */
+    static String credentialTag(String authorization, String configuredPrivateKey) {
+        if (authorization == null) {
+            return "none";
+        }
+        if (authorization.equals("Bearer " + configuredPrivateKey)) {
+            return "configured";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static JsonNode withoutVolatileFields(JsonNode body) {
+        if (!(body instanceof ObjectNode object)) {
+            return body;
+        }
+        ObjectNode copy = object.deepCopy();
+        copy.remove(VOLATILE_BODY_FIELDS);
+        return copy;
+    }
+
+    private static void appendCanonical(StringBuilder key, JsonNode node) {
+        if (node.isObject()) {
+            TreeMap<String, JsonNode> fields = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                fields.put(field.getKey(), field.getValue());
+            }
+            key.append('{');
+            boolean first = true;
+            for (Map.Entry<String, JsonNode> field : fields.entrySet()) {
+                if (!first) {
+                    key.append(',');
+                }
+                first = false;
+                key.append('"').append(field.getKey()).append("\":");
+                appendCanonical(key, field.getValue());
+            }
+            key.append('}');
+        } else if (node.isArray()) {
+            key.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                appendCanonical(key, node.get(i));
+            }
+            key.append(']');
+        } else {
+            key.append(node);
+        }
+    }
+}
@@ -1,89 +1,269 @@
 package com.wompi.automation.config;
 
+import com.wompi.automation.metrics.StartupTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration manager for Wompi API tests
  * Implements Singleton pattern to ensure single instance across tests
+ * Properties are merged from classpath config.properties, an optional external file, WOMPI_* environment
+ * variables and system properties (later layers win) and parsed once into an immutable {@link WompiConfig};
+ * a reload swaps in a new snapshot, so readers never lock
  */
 public class ConfigManager {
-    private static ConfigManager instance;
-    private Properties properties;
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+
+    private static final String CLASSPATH_FILE = "config.properties";
+    private static final String EXTERNAL_FILE_KEY = "config.file";
+    private static final String RELOAD_KEY = "config.reload.enabled";
+    private static final String ENV_PREFIX = "WOMPI_";
+    private static final long RELOAD_QUIET_PERIOD_MS = 200;
+
+    private static volatile ConfigManager instance;
+    private volatile WompiConfig config;
 
     private ConfigManager() {
-        loadProperties();
+        this.config = StartupTimer.time("config", this::loadConfig);
+        if (Boolean.parseBoolean(config.get(RELOAD_KEY))) {
+            startWatcher();
+        }
+    }
+
+    public static ConfigManager getInstance() {
+        ConfigManager current = instance;
+        if (current == null) {
+            synchronized (ConfigManager.class) {
+                current = instance;
+                if (current == null) {
+                    current = new ConfigManager();
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the current configuration snapshot
+     * Callers that read several values should keep one snapshot so they all come from the same load
+     * @return Immutable configuration
+     */
+    public WompiConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Reads every layer again and swaps in the new snapshot
+     * If loading fails the current snapshot is kept and the error is thrown
+     */
+    public void reload() {
+        config = loadConfig();
     }
 
-    public static synchronized ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
+    private WompiConfig loadConfig() {
+        Map<String, String> properties = new HashMap<>();
+        boolean classpathFileFound = loadClasspathFile(properties);
+
+        Map<String, String> overrides = new HashMap<>();
+        System.getenv().forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX)) {
+                overrides.put(toPropertyKey(name), value);
+            }
+        });
+        System.getProperties().forEach((key, value) -> overrides.put(key.toString(), value.toString()));
+
+        Path externalFile = externalFile(overrides);
+        if (externalFile != null) {
+            loadFile(externalFile, properties);
+        }
+        properties.putAll(overrides);
+
+        if (!classpathFileFound && externalFile == null && !properties.containsKey("uat.principal.url")) {
+            throw new RuntimeException("Unable to find config.properties");
         }
-        return instance;
+        return WompiConfig.from(properties);
     }
 
-    private void loadProperties() {
-        properties = new Properties();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+    private boolean loadClasspathFile(Map<String, String> properties) {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(CLASSPATH_FILE)) {
             if (input == null) {
-                throw new RuntimeException("Unable to find config.properties");
+                return false;
             }
-            properties.load(input);
+            load(input, properties);
+            return true;
         } catch (IOException e) {
             throw new RuntimeException("Error loading configuration properties", e);
         }
     }
 
+    private static void loadFile(Path file, Map<String, String> properties) {
+        try (InputStream input = Files.newInputStream(file)) {
+            load(input, properties);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading configuration properties from " + file, e);
+        }
+    }
+
+    private static void load(InputStream input, Map<String, String> properties) throws IOException {
+        Properties fileProperties = new Properties();
+        fileProperties.load(input);
+        fileProperties.forEach((key, value) -> properties.put(key.toString(), value.toString()));
+    }
+
+    /**
+     * Maps an environment variable to a property key: WOMPI_PRIVATE_KEY becomes private.key
+     */
+    private static String toPropertyKey(String environmentName) {
+        return environmentName.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+
+    private static Path externalFile(Map<String, String> overrides) {
+        String location = overrides.get(EXTERNAL_FILE_KEY);
+        return location == null || location.isBlank() ? null : Path.of(location);
+    }
+
+    /**
+     * Watches the external file, or the classpath file when it lives on disk, and reloads on change
+     */
+    private void startWatcher() {
+        Path file = watchedFile();
+        if (file == null) {
+            logger.warn("{} is set but no configuration file on disk was found to watch", RELOAD_KEY);
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.toAbsolutePath().getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            logger.warn("Could not watch {} for configuration changes", file, e);
+            return;
+        }
+        Thread watcher = new Thread(() -> watch(watchService, file.getFileName()), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private Path watchedFile() {
+        String external = config.get(EXTERNAL_FILE_KEY);
+        if (external != null && !external.isBlank()) {
+            return Path.of(external);
+        }
+        URL resource = getClass().getClassLoader().getResource(CLASSPATH_FILE);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private void watch(WatchService watchService, Path fileName) {
+        try {
+            while (true) {
+                boolean changed = false;
+                // Editors write in several steps, so wait until the file has been quiet before reading it
+                for (WatchKey key = watchService.take(); key != null;
+                     key = watchService.poll(RELOAD_QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= fileName.equals(event.context());
+                    }
+                    key.reset();
+                }
+                if (changed) {
+                    try {
+                        reload();
+                        logger.info("Configuration reloaded: {}", config);
+                    } catch (RuntimeException e) {
+                        logger.warn("Configuration reload failed, keeping the previous values", e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return config.get(key);
+    }
+
+    /**
+     * Gets an optional integer property
+     * @param key The property key
+     * @param defaultValue Value returned when the property is not set
+     * @return Parsed property value or the default
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        return config.getInt(key, defaultValue);
     }
 
     public String getUatPrincipalUrl() {
-        return getProperty("uat.principal.url");
+        return config.uatPrincipalUrl();
     }
 
     public String getUatSandboxUrl() {
-        return getProperty("uat.sandbox.url");
+        return config.uatSandboxUrl();
     }
 
     public String getPublicKey() {
-        return getProperty("public.key");
+        return config.publicKey();
     }
 
     public String getPrivateKey() {
-        return getProperty("private.key");
+        return config.privateKey();
     }
 
     public String getEventsKey() {
-        return getProperty("events.key");
+        return config.eventsKey();
     }
 
     public String getIntegrityKey() {
-        return getProperty("integrity.key");
+        return config.integrityKey();
     }
 
     public String getTestAmount() {
-        return getProperty("test.amount");
+        return config.testAmount();
     }
 
     public String getTestCurrency() {
-        return getProperty("test.currency");
+        return config.testCurrency();
     }
 
     public String getTestReference() {
-        return getProperty("test.reference");
+        return config.testReference();
     }
 
     public String getTestDescription() {
-        return getProperty("test.description");
+        return config.testDescription();
     }
 
     public int getApiTimeout() {
-        return Integer.parseInt(getProperty("api.timeout"));
+        return config.apiTimeout();
     }
 
     public int getTransactionTimeout() {
-        return Integer.parseInt(getProperty("transaction.timeout"));
+        return config.transactionTimeout();
     }
 }
@@ -0,0 +1,95 @@
+package com.wompi.automation.config;
+
+import java.util.Map;
+
+/**
+ * Immutable, typed snapshot of the test configuration
+ * Built once per load from the merged property layers, so reading it costs a field access
+ *
+ * @param properties Every merged property, for optional keys without a typed accessor
+ */
+public record WompiConfig(
+        String uatPrincipalUrl,
+        String uatSandboxUrl,
+        String publicKey,
+        String privateKey,
+        String eventsKey,
+        String integrityKey,
+        String testAmount,
+        String testCurrency,
+        String testReference,
+        String testDescription,
+        int apiTimeout,
+        int transactionTimeout,
+        Map<String, String> properties) {
+
+    static final int DEFAULT_API_TIMEOUT = 30_000;
+    static final int DEFAULT_TRANSACTION_TIMEOUT = 60_000;
+
+    public WompiConfig {
+        properties = Map.copyOf(properties);
+    }
+
+    /**
+     * Parses a snapshot from merged properties
+     * Numeric values are validated here, so a bad value fails on load instead of on first use
+     * @param properties The merged properties
+     * @return Typed configuration
+     */
+    static WompiConfig from(Map<String, String> properties) {
+        return new WompiConfig(
+                properties.get("uat.principal.url"),
+                properties.get("uat.sandbox.url"),
+                properties.get("public.key"),
+                properties.get("private.key"),
+                properties.get("events.key"),
+                properties.get("integrity.key"),
+                properties.get("test.amount"),
+                properties.get("test.currency"),
+                properties.get("test.reference"),
+                properties.get("test.description"),
+                parseInt(properties, "api.timeout", DEFAULT_API_TIMEOUT),
+                parseInt(properties, "transaction.timeout", DEFAULT_TRANSACTION_TIMEOUT),
+                properties);
+    }
+
+    /**
+     * Gets a raw property
+     * @param key The property key
+     * @return Property value or null if not set
+     */
+    public String get(String key) {
+        return properties.get(key);
+    }
+
+    /**
+     * Gets an optional integer property
+     * @param key The property key
+     * @param defaultValue Value returned when the property is not set
+     * @return Parsed property value or the default
+     */
+    public int getInt(String key, int defaultValue) {
+        return parseInt(properties, key, defaultValue);
+    }
+
+    private static int parseInt(Map<String, String> properties, String key, int defaultValue) {
+        String value = properties.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid integer for configuration property " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Leaves out keys and properties so credentials never reach logs or reports
+     */
+    @Override
+    public String toString() {
+        return "WompiConfig[uatPrincipalUrl=" + uatPrincipalUrl + ", apiTimeout=" + apiTimeout
+                + ", transactionTimeout=" + transactionTimeout + ", properties=" + properties.size() + "]";
+    }
+}
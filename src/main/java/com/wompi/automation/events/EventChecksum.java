@@ -0,0 +1,92 @@
+package com.wompi.automation.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Computes and verifies the checksum Wompi attaches to every event
+ * The checksum is the SHA-256 of the values of the properties listed in signature.properties, read from the
+ * event data, followed by the event timestamp and the events secret. Digests are kept per thread, which suits
+ * the fixed pool of the {@link WebhookReceiver}
+ */
+public class EventChecksum {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final byte[] secret;
+
+    /**
+     * Creates a checksum calculator
+     * @param eventsKey Events secret of the merchant
+     */
+    public EventChecksum(String eventsKey) {
+        if (eventsKey == null || eventsKey.isBlank()) {
+            throw new IllegalArgumentException("An events key is required to verify event checksums");
+        }
+        this.secret = eventsKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks the checksum of a received event
+     * @param event Parsed event body
+     * @return true if the event lists its signed properties and the checksum matches them
+     */
+    public boolean verify(JsonNode event) {
+        JsonNode signature = event.path("signature");
+        JsonNode properties = signature.path("properties");
+        String checksum = signature.path("checksum").asText(null);
+        if (!properties.isArray() || properties.isEmpty() || checksum == null
+                || !event.path("timestamp").canConvertToLong()) {
+            return false;
+        }
+        List<String> values = new ArrayList<>(properties.size());
+        for (JsonNode property : properties) {
+            values.add(valueAt(event.path("data"), property.asText()));
+        }
+        String expected = compute(values, event.path("timestamp").asLong());
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                checksum.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Computes the checksum of an event
+     * @param values Values of the signed properties, in the order listed in the event
+     * @param timestamp Event timestamp in seconds
+     * @return Uppercase hex checksum
+     */
+    public String compute(List<String> values, long timestamp) {
+        StringBuilder input = new StringBuilder(128);
+        for (String value : values) {
+            input.append(value);
+        }
+        input.append(timestamp);
+        MessageDigest digest = DIGEST.get();
+        digest.update(input.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(secret);
+        return HexFormat.of().withUpperCase().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads a dotted property such as transaction.amount_in_cents; a missing property reads as empty
+     */
+    private static String valueAt(JsonNode data, String property) {
+        JsonNode node = data;
+        for (String field : property.split("\\.")) {
+            node = node.path(field);
+        }
+        return node.isValueNode() ? node.asText() : "";
+    }
+}
@@ -0,0 +1,31 @@
+package com.wompi.automation.events;
+
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.polling.TransactionStatusPoller;
+
+/**
+ * A verified transaction.updated event
+ * @param event Event name
+ * @param transaction Transaction as sent in the event
+ * @param environment Environment that sent the event, for example test or prod
+ * @param timestamp Event timestamp in seconds
+ */
+public record TransactionEvent(String event, WompiResponse.TransactionData transaction, String environment,
+                               long timestamp) {
+
+    public String transactionId() {
+        return transaction.getId();
+    }
+
+    public String status() {
+        return transaction.getStatus();
+    }
+
+    /**
+     * Checks whether the event carries a final status
+     * @return true if the transaction will not change anymore
+     */
+    public boolean isTerminal() {
+        return TransactionStatusPoller.isTerminal(status());
+    }
+}
@@ -0,0 +1,121 @@
+package com.wompi.automation.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers verified transaction events to in-process subscribers
+ * Besides plain subscriptions, callers can wait for the terminal event of one transaction instead of polling its
+ * status. Terminal events are kept, up to a maximum, so a caller that starts waiting after the event arrived still
+ * gets it. Wompi retries deliveries, so subscribers may see the same event more than once
+ */
+public class TransactionEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEventBus.class);
+
+    private final List<Consumer<TransactionEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Cache<String, TransactionEvent> terminalEvents;
+    private final ConcurrentMap<String, Set<CompletableFuture<TransactionEvent>>> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an event bus
+     * @param retainedTerminalEvents Maximum number of terminal events kept for callers that wait late
+     */
+    public TransactionEventBus(long retainedTerminalEvents) {
+        this.terminalEvents = Caffeine.newBuilder().maximumSize(retainedTerminalEvents).build();
+    }
+
+    /**
+     * Registers a subscriber for every published event
+     * Subscribers run on the thread that received the event, so they should return quickly
+     * @param subscriber Called with each event
+     * @return Subscription that removes the subscriber when closed
+     */
+    public Subscription subscribe(Consumer<TransactionEvent> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Delivers an event to the subscribers and, when final, to the callers waiting for its transaction
+     * A failing subscriber is logged and does not stop delivery to the others
+     * @param event The verified event
+     */
+    public void publish(TransactionEvent event) {
+        for (Consumer<TransactionEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                logger.warn("Transaction event subscriber failed for {}", event.transactionId(), e);
+            }
+        }
+        if (event.isTerminal()) {
+            terminalEvents.put(event.transactionId(), event);
+            Set<CompletableFuture<TransactionEvent>> waiters = waiting.remove(event.transactionId());
+            if (waiters != null) {
+                for (CompletableFuture<TransactionEvent> waiter : waiters) {
+                    waiter.complete(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the event that moves a transaction to a terminal status
+     * Every caller gets its own registration, so one caller timing out does not affect the others
+     * @param transactionId The transaction ID
+     * @param timeout Maximum time to wait
+     * @return Future completed with the terminal event, or with a TimeoutException
+     */
+    public CompletableFuture<TransactionEvent> awaitTerminal(String transactionId, Duration timeout) {
+        TransactionEvent received = terminalEvents.getIfPresent(transactionId);
+        if (received != null) {
+            return CompletableFuture.completedFuture(received);
+        }
+        CompletableFuture<TransactionEvent> waiter = new CompletableFuture<>();
+        // Registered inside compute, so it cannot race with the removal of an emptied entry
+        waiting.compute(transactionId, (id, waiters) -> {
+            Set<CompletableFuture<TransactionEvent>> registered = waiters;
+            if (registered == null) {
+                registered = ConcurrentHashMap.newKeySet();
+            }
+            registered.add(waiter);
+            return registered;
+        });
+        // Drop the registration once this caller stops waiting, and the entry once no caller is left
+        waiter.whenComplete((event, error) -> waiting.computeIfPresent(transactionId, (id, waiters) -> {
+            waiters.remove(waiter);
+            return waiters.isEmpty() ? null : waiters;
+        }));
+        // The event may have been published between the lookup and the registration
+        received = terminalEvents.getIfPresent(transactionId);
+        if (received != null) {
+            waiter.complete(received);
+        }
+        return waiter.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registration of a subscriber
+     */
+    public interface Subscription extends AutoCloseable {
+
+        /**
+         * Stops delivering events to the subscriber
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,197 @@
+package com.wompi.automation.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded endpoint that receives Wompi events
+ * Each event is parsed once and its checksum is verified against the events key; verified transaction.updated
+ * events are acknowledged and then published to a {@link TransactionEventBus}. Handling is short and CPU bound,
+ * so a small fixed pool of threads keeps up with bursts of thousands of events per second
+ */
+public class WebhookReceiver implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookReceiver.class);
+
+    static final String TRANSACTION_UPDATED = "transaction.updated";
+    private static final int BACKLOG = 1_024;
+    private static final int MAX_BODY_BYTES = 64 * 1_024;
+
+    private final String path;
+    private final EventChecksum checksum;
+    private final TransactionEventBus eventBus;
+    private final int threads;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder ignored = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a receiver
+     * @param path Path events are posted to, for example /events
+     * @param checksum Verifies the checksum of each event
+     * @param eventBus Bus verified transaction events are published to
+     * @param threads Number of threads handling events
+     */
+    public WebhookReceiver(String path, EventChecksum checksum, TransactionEventBus eventBus, int threads) {
+        this.path = path.startsWith("/") ? path : "/" + path;
+        this.checksum = checksum;
+        this.eventBus = eventBus;
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a receiver configured by the events.key, webhook.path (defaults to /events), webhook.threads
+     * (defaults to 4) and webhook.retained.events (defaults to 100000) properties
+     * @return New receiver, not started yet
+     */
+    public static WebhookReceiver fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        String path = config.getProperty("webhook.path");
+        return new WebhookReceiver(path == null || path.isBlank() ? "/events" : path.trim(),
+                new EventChecksum(config.getEventsKey()),
+                new TransactionEventBus(config.getIntProperty("webhook.retained.events", 100_000)),
+                config.getIntProperty("webhook.threads", 4));
+    }
+
+    /**
+     * Starts listening
+     * @param host Address to bind, for example 127.0.0.1 behind a tunnel or 0.0.0.0 to accept remote calls
+     * @param port The port to bind, or 0 for an ephemeral port
+     * @return This receiver
+     */
+    public WebhookReceiver start(String host, int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), BACKLOG);
+        } catch (IOException e) {
+            throw new RuntimeException("Error starting webhook receiver", e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "webhook-receiver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(path, this::handle);
+        server.start();
+        logger.info("Webhook receiver listening on {}", getUrl());
+        return this;
+    }
+
+    /**
+     * Gets the URL Wompi, or the stub server, should post events to
+     * @return Event URL
+     */
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        String host = address.getAddress().isAnyLocalAddress() ? "127.0.0.1" : address.getHostString();
+        return "http://" + host + ":" + address.getPort() + path;
+    }
+
+    /**
+     * Gets the bus verified events are published to
+     * @return Event bus
+     */
+    public TransactionEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Gets the number of events refused for a malformed body, a checksum that does not match or a missing transaction
+     * @return Rejected event count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the number of verified events of other types, which are acknowledged but not published
+     * @return Ignored event count
+     */
+    public long getIgnoredCount() {
+        return ignored.sum();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try (InputStream input = exchange.getRequestBody()) {
+                body = input.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (body.length > MAX_BODY_BYTES) {
+                rejected.increment();
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+            JsonNode event = parse(body);
+            if (event == null || !checksum.verify(event)) {
+                rejected.increment();
+                logger.warn("Rejected event with a malformed body or an invalid checksum");
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (!TRANSACTION_UPDATED.equals(event.path("event").asText())) {
+                ignored.increment();
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            JsonNode transactionNode = event.path("data").path("transaction");
+            if (!transactionNode.isObject() || !transactionNode.path("id").isTextual()) {
+                rejected.increment();
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            WompiResponse.TransactionData transaction =
+                    JsonUtils.fromJson(transactionNode, WompiResponse.TransactionData.class);
+            // Acknowledge first, so slow subscribers do not make Wompi retry the delivery
+            exchange.sendResponseHeaders(200, -1);
+            eventBus.publish(new TransactionEvent(TRANSACTION_UPDATED, transaction,
+                    event.path("environment").asText(null), event.path("timestamp").asLong()));
+            published.increment();
+        } catch (Exception e) {
+            logger.warn("Webhook receiver failed to handle event", e);
+        }
+    }
+
+    private static JsonNode parse(byte[] body) {
+        try {
+            JsonNode event = JsonUtils.fromJson(body, JsonNode.class);
+            return event != null && event.isObject() ? event : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.wompi.automation.feeds;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One CSV line read by column name
+ * Fields are comma separated and may be quoted with double quotes, doubling a quote to escape it;
+ * quoted fields cannot span lines
+ */
+public final class CsvRecord {
+
+    private final Map<String, Integer> columns;
+    private final String[] values;
+
+    private CsvRecord(Map<String, Integer> columns, String[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Parses the header line into a column index shared by every record of the file
+     * @param header Header line bytes
+     * @return Column name to position
+     */
+    static Map<String, Integer> parseHeader(ByteBuffer header) {
+        String[] names = split(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim(), i);
+        }
+        return Map.copyOf(columns);
+    }
+
+    /**
+     * Parses a record line
+     * @param columns Column index from {@link #parseHeader(ByteBuffer)}
+     * @param line Record line bytes
+     * @return Parsed record
+     */
+    static CsvRecord parse(Map<String, Integer> columns, ByteBuffer line) {
+        return new CsvRecord(columns, split(line));
+    }
+
+    /**
+     * Gets a field
+     * @param column Column name from the header
+     * @return Field value, or null if the column is missing or the field is empty
+     */
+    public String get(String column) {
+        Integer position = columns.get(column);
+        if (position == null || position >= values.length || values[position].isEmpty()) {
+            return null;
+        }
+        return values[position];
+    }
+
+    /**
+     * Gets a numeric field
+     * @param column Column name from the header
+     * @return Field value, or null if the column is missing or the field is empty
+     */
+    public Integer getInt(String column) {
+        String value = get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid number in column " + column + ": " + value, e);
+        }
+    }
+
+    private static String[] split(ByteBuffer line) {
+        // One copy of the line; delimiters are ASCII so they can be found before decoding UTF-8
+        byte[] bytes = new byte[line.remaining()];
+        line.get(line.position(), bytes);
+        List<String> fields = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            if (i < bytes.length && bytes[i] == '"') {
+                int start = ++i;
+                boolean escaped = false;
+                while (i < bytes.length && (bytes[i] != '"' || (i + 1 < bytes.length && bytes[i + 1] == '"'))) {
+                    if (bytes[i] == '"') {
+                        escaped = true;
+                        i++;
+                    }
+                    i++;
+                }
+                if (i >= bytes.length) {
+                    throw new RuntimeException("Unterminated quoted field in CSV line");
+                }
+                String value = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+                fields.add(escaped ? value.replace("\"\"", "\"") : value);
+                i++;
+                while (i < bytes.length && bytes[i] != ',') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < bytes.length && bytes[i] != ',') {
+                    i++;
+                }
+                fields.add(new String(bytes, start, i - start, StandardCharsets.UTF_8));
+            }
+            if (i >= bytes.length) {
+                return fields.toArray(String[]::new);
+            }
+            i++;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.wompi.automation.feeds;
+
+import com.wompi.automation.utils.JsonUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Thread safe stream of test records backed by a memory-mapped file
+ * Records are decoded on demand from the mapping, so a feed with millions of records holds none of them
+ * on the heap; consumers only share an atomic cursor
+ *
+ * @param <T> Type of the decoded records
+ */
+public final class DataFeed<T> implements Supplier<T> {
+
+    private final FeedFile file;
+    private final FeedStrategy strategy;
+    private final Function<ByteBuffer, T> decoder;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private DataFeed(FeedFile file, FeedStrategy strategy, Function<ByteBuffer, T> decoder) {
+        this.file = file;
+        this.strategy = strategy;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Opens a CSV feed whose first line names the columns
+     * @param path The CSV file
+     * @param strategy Iteration strategy
+     * @param mapper Converts each record into the feed type
+     * @return Data feed
+     */
+    public static <T> DataFeed<T> csv(Path path, FeedStrategy strategy, Function<CsvRecord, T> mapper) {
+        FeedFile file = FeedFile.open(path, true);
+        if (file.header() == null) {
+            throw new RuntimeException("CSV data feed " + path + " has no header line");
+        }
+        Map<String, Integer> columns = CsvRecord.parseHeader(file.header());
+        return new DataFeed<>(file, strategy, line -> mapper.apply(CsvRecord.parse(columns, line)));
+    }
+
+    /**
+     * Opens a JSON Lines feed with one JSON object per line
+     * @param path The JSONL file
+     * @param strategy Iteration strategy
+     * @param type Class each line is deserialized into
+     * @return Data feed
+     */
+    public static <T> DataFeed<T> jsonLines(Path path, FeedStrategy strategy, Class<T> type) {
+        FeedFile file = FeedFile.open(path, false);
+        return new DataFeed<>(file, strategy, line -> {
+            // Copying the one line lets Jackson use its byte array parser, which is much faster than a stream
+            byte[] json = new byte[line.remaining()];
+            line.get(line.position(), json);
+            return JsonUtils.fromJson(json, type);
+        });
+    }
+
+    /**
+     * Gets the next record according to the feed strategy
+     * @return Newly decoded record, never shared with other callers
+     * @throws NoSuchElementException if the feed is empty, or a UNIQUE feed has handed out every record
+     */
+    public T next() {
+        int size = file.size();
+        if (size == 0) {
+            throw new NoSuchElementException("Data feed " + file.getPath() + " has no records");
+        }
+        int index = switch (strategy) {
+            case CIRCULAR -> (int) (cursor.getAndIncrement() % size);
+            case RANDOM -> ThreadLocalRandom.current().nextInt(size);
+            case UNIQUE -> {
+                long position = cursor.getAndIncrement();
+                if (position >= size) {
+                    throw new NoSuchElementException("Data feed " + file.getPath() + " exhausted after "
+                            + size + " records");
+                }
+                yield (int) position;
+            }
+        };
+        try {
+            return decoder.apply(file.record(index));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid record " + (index + 1) + " in data feed " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Same as {@link #next()}, so a feed can be passed wherever a request supplier is expected
+     */
+    @Override
+    public T get() {
+        return next();
+    }
+
+    /**
+     * Creates a feed that converts every record this feed would return
+     * The new feed reads the same mapping with its own cursor
+     * @param mapper Applied to each decoded record
+     * @return Mapped data feed
+     */
+    public <R> DataFeed<R> map(Function<? super T, ? extends R> mapper) {
+        return new DataFeed<>(file, strategy, decoder.andThen(mapper));
+    }
+
+    /**
+     * Gets the number of records in the file
+     * @return Record count
+     */
+    public int size() {
+        return file.size();
+    }
+
+    public FeedStrategy getStrategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,189 @@
+package com.wompi.automation.feeds;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Line oriented file mapped read-only into memory
+ * Only one long per record (offset and length) is kept on the heap; the record bytes stay in the page cache
+ * and are read straight from the mapping, so files larger than the heap can be fed
+ */
+public final class FeedFile {
+
+    /** Files larger than this are mapped in several segments, each starting at a line boundary */
+    static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private static final int LENGTH_BITS = 24;
+    private static final long MAX_RECORD_LENGTH = (1L << LENGTH_BITS) - 1;
+
+    private final Path path;
+    private final MappedByteBuffer[] segments;
+    private final long[] segmentStarts;
+    private final long[] records;
+    private final int recordCount;
+    private final long header;
+
+    private FeedFile(Path path, MappedByteBuffer[] segments, long[] segmentStarts, long[] records,
+                     int recordCount, long header) {
+        this.path = path;
+        this.segments = segments;
+        this.segmentStarts = segmentStarts;
+        this.records = records;
+        this.recordCount = recordCount;
+        this.header = header;
+    }
+
+    /**
+     * Maps a file and indexes its lines
+     * Blank lines and a leading UTF-8 byte order mark are skipped, and Windows line endings are accepted
+     * @param path The file to map
+     * @param hasHeader Whether the first non blank line is a header rather than a record
+     * @return Mapped file
+     */
+    public static FeedFile open(Path path, boolean hasHeader) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Indexer(path, channel.size(), hasHeader).index(channel);
+        } catch (IOException e) {
+            throw new RuntimeException("Error mapping data feed " + path, e);
+        }
+    }
+
+    /**
+     * Gets the number of records, not counting the header
+     * @return Record count
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Gets a record without copying it
+     * @param index Zero based record index
+     * @return Read-only view of the record bytes, without the line ending
+     */
+    public ByteBuffer record(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of " + recordCount + " in " + path);
+        }
+        return slice(records[index]);
+    }
+
+    /**
+     * Gets the header line
+     * @return Read-only view of the header bytes, or null if the file was opened without a header
+     */
+    public ByteBuffer header() {
+        return header < 0 ? null : slice(header);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private ByteBuffer slice(long entry) {
+        long offset = entry >>> LENGTH_BITS;
+        int length = (int) (entry & MAX_RECORD_LENGTH);
+        int segment = Arrays.binarySearch(segmentStarts, offset);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        return segments[segment].slice((int) (offset - segmentStarts[segment]), length);
+    }
+
+    /**
+     * Single pass over the mapping that records where every non blank line starts and ends
+     */
+    private static final class Indexer {
+        private final Path path;
+        private final long fileSize;
+        private boolean headerPending;
+        private long header = -1;
+        private long[] records = new long[1024];
+        private int recordCount;
+
+        Indexer(Path path, long fileSize, boolean hasHeader) {
+            this.path = path;
+            this.fileSize = fileSize;
+            this.headerPending = hasHeader;
+        }
+
+        FeedFile index(FileChannel channel) throws IOException {
+            List<MappedByteBuffer> segments = new ArrayList<>();
+            List<Long> segmentStarts = new ArrayList<>();
+            long segmentStart = 0;
+            do {
+                int size = (int) Math.min(fileSize - segmentStart, MAX_SEGMENT_SIZE);
+                boolean last = segmentStart + size == fileSize;
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, size);
+                int lineStart = 0;
+                for (int i = 0; i < size; i++) {
+                    if (segment.get(i) == '\n') {
+                        addLine(segment, segmentStart, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (last && lineStart < size) {
+                    addLine(segment, segmentStart, lineStart, size);
+                    lineStart = size;
+                } else if (!last && lineStart == 0) {
+                    throw new RuntimeException("Line longer than " + MAX_SEGMENT_SIZE + " bytes in " + path);
+                }
+                segments.add(segment);
+                segmentStarts.add(segmentStart);
+                // The incomplete last line of this segment is mapped again at the start of the next one
+                segmentStart += lineStart;
+            } while (segmentStart < fileSize);
+
+            return new FeedFile(path, segments.toArray(MappedByteBuffer[]::new),
+                    segmentStarts.stream().mapToLong(Long::longValue).toArray(),
+                    records, recordCount, header);
+        }
+
+        private void addLine(ByteBuffer segment, long segmentStart, int start, int end) {
+            if (segmentStart == 0 && start == 0 && end >= 3 && (segment.get(0) & 0xFF) == 0xEF
+                    && (segment.get(1) & 0xFF) == 0xBB && (segment.get(2) & 0xFF) == 0xBF) {
+                start = 3;
+            }
+            if (end > start && segment.get(end - 1) == '\r') {
+                end--;
+            }
+            if (isBlank(segment, start, end)) {
+                return;
+            }
+            if (end - start > MAX_RECORD_LENGTH) {
+                throw new RuntimeException("Record longer than " + MAX_RECORD_LENGTH + " bytes at offset "
+                        + (segmentStart + start) + " in " + path);
+            }
+            long entry = ((segmentStart + start) << LENGTH_BITS) | (end - start);
+            if (headerPending) {
+                header = entry;
+                headerPending = false;
+                return;
+            }
+            if (recordCount == Integer.MAX_VALUE - 8) {
+                throw new RuntimeException("Too many records in " + path);
+            }
+            if (recordCount == records.length) {
+                records = Arrays.copyOf(records, (int) Math.min((long) records.length * 2, Integer.MAX_VALUE - 8));
+            }
+            records[recordCount++] = entry;
+        }
+
+        private static boolean isBlank(ByteBuffer segment, int start, int end) {
+            for (int i = start; i < end; i++) {
+                byte b = segment.get(i);
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
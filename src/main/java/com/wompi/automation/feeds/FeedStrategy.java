@@ -0,0 +1,16 @@
+package com.wompi.automation.feeds;
+
+/**
+ * Order in which a data feed hands out its records
+ */
+public enum FeedStrategy {
+
+    /** Records in file order, starting over after the last one */
+    CIRCULAR,
+
+    /** A uniformly random record on every call */
+    RANDOM,
+
+    /** Every record exactly once; the feed fails once all records have been handed out */
+    UNIQUE
+}
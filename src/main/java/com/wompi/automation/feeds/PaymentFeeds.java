@@ -0,0 +1,120 @@
+package com.wompi.automation.feeds;
+
+import com.wompi.automation.builders.ReferenceGenerator;
+import com.wompi.automation.builders.TestDataBuilder;
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Data feeds of payment requests read from CSV or JSONL files
+ * JSONL lines use the same JSON shape as the API request. CSV files use flat columns:
+ * amount_in_cents, currency, customer_email, reference, payment_source_id, full_name, phone_number, payment_description,
+ * plus user_type, user_legal_id, user_legal_id_type and financial_institution_code for PSE,
+ * or nequi_phone_number for Nequi.
+ * Records without a reference get a new unique one on every read, which CIRCULAR and RANDOM feeds need
+ * since a reference can only be used once
+ */
+public final class PaymentFeeds {
+
+    private static final String DEFAULT_CURRENCY = "COP";
+    private static final int DEFAULT_PAYMENT_SOURCE_ID = 1;
+
+    private PaymentFeeds() {
+    }
+
+    /**
+     * Opens a feed of PSE payment requests
+     * @param path CSV or JSONL file, chosen by extension (.csv, .jsonl or .ndjson)
+     * @param strategy Iteration strategy
+     * @return Feed of PSE payment requests
+     */
+    public static DataFeed<PSEPaymentRequest> psePayments(Path path, FeedStrategy strategy) {
+        String referencePrefix = referencePrefix("PSE");
+        UnaryOperator<PSEPaymentRequest> withReference = request -> {
+            if (request.getReference() == null || request.getReference().isBlank()) {
+                request.setReference(ReferenceGenerator.shared().next(referencePrefix));
+            }
+            return request;
+        };
+        DataFeed<PSEPaymentRequest> feed = isCsv(path)
+                ? DataFeed.csv(path, strategy, PaymentFeeds::toPSEPaymentRequest)
+                : DataFeed.jsonLines(path, strategy, PSEPaymentRequest.class);
+        return feed.map(withReference);
+    }
+
+    /**
+     * Opens a feed of Nequi payment requests
+     * @param path CSV or JSONL file, chosen by extension (.csv, .jsonl or .ndjson)
+     * @param strategy Iteration strategy
+     * @return Feed of Nequi payment requests
+     */
+    public static DataFeed<NequiPaymentRequest> nequiPayments(Path path, FeedStrategy strategy) {
+        String referencePrefix = referencePrefix("NEQUI");
+        UnaryOperator<NequiPaymentRequest> withReference = request -> {
+            if (request.getReference() == null || request.getReference().isBlank()) {
+                request.setReference(ReferenceGenerator.shared().next(referencePrefix));
+            }
+            return request;
+        };
+        DataFeed<NequiPaymentRequest> feed = isCsv(path)
+                ? DataFeed.csv(path, strategy, PaymentFeeds::toNequiPaymentRequest)
+                : DataFeed.jsonLines(path, strategy, NequiPaymentRequest.class);
+        return feed.map(withReference);
+    }
+
+    private static PSEPaymentRequest toPSEPaymentRequest(CsvRecord record) {
+        String email = record.get("customer_email");
+        return new PSEPaymentRequest(
+                record.getInt("amount_in_cents"),
+                Objects.requireNonNullElse(record.get("currency"), DEFAULT_CURRENCY),
+                email,
+                new PSEPaymentRequest.PaymentMethod(
+                        "PSE",
+                        Objects.requireNonNullElse(record.get("user_type"), "PERSON"),
+                        record.get("user_legal_id"),
+                        record.get("user_legal_id_type"),
+                        record.get("financial_institution_code"),
+                        Objects.requireNonNullElse(record.get("payment_description"), "Data feed PSE payment")),
+                record.get("reference"),
+                Objects.requireNonNullElse(record.getInt("payment_source_id"), DEFAULT_PAYMENT_SOURCE_ID),
+                new PSEPaymentRequest.CustomerData(email, record.get("full_name"), record.get("phone_number")),
+                null); // Signature, computed by the page when the request is sent
+    }
+
+    private static NequiPaymentRequest toNequiPaymentRequest(CsvRecord record) {
+        String email = record.get("customer_email");
+        return new NequiPaymentRequest(
+                record.getInt("amount_in_cents"),
+                Objects.requireNonNullElse(record.get("currency"), DEFAULT_CURRENCY),
+                email,
+                new NequiPaymentRequest.PaymentMethod(
+                        "NEQUI",
+                        record.get("nequi_phone_number"),
+                        Objects.requireNonNullElse(record.get("payment_description"), "Data feed Nequi payment")),
+                record.get("reference"),
+                Objects.requireNonNullElse(record.getInt("payment_source_id"), DEFAULT_PAYMENT_SOURCE_ID),
+                new NequiPaymentRequest.CustomerData(email, record.get("full_name"), record.get("phone_number")),
+                null); // Signature, computed by the page when the request is sent
+    }
+
+    private static boolean isCsv(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return true;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported data feed format, expected .csv, .jsonl or .ndjson: " + path);
+    }
+
+    private static String referencePrefix(String method) {
+        String prefix = TestDataBuilder.getTestDataProperty("test.reference.prefix");
+        return (prefix == null ? "" : prefix) + "FEED_" + method + "_";
+    }
+}
@@ -0,0 +1,186 @@
+package com.wompi.automation.http;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.metrics.StartupTimer;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared, thread-safe HTTP client for RestAssured
+ * Keeps a pool of keep-alive connections so scenarios and load workers reuse TCP and TLS sessions,
+ * and counts how many requests opened a new connection versus reusing a pooled one
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 still requires the Apache AbstractHttpClient API
+public class PooledHttpClient implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpClient.class);
+
+    private static volatile PooledHttpClient shared;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+    private final LongAdder newConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+
+    /**
+     * Creates a pooled client
+     * @param maxTotal Maximum number of pooled connections
+     * @param maxPerRoute Maximum number of pooled connections per host
+     * @param keepAlive Longest time an idle connection is kept, unless the server asks for less
+     * @param leaseTimeout Longest time a request waits for a free pooled connection
+     */
+    public PooledHttpClient(int maxTotal, int maxPerRoute, Duration keepAlive, Duration leaseTimeout) {
+        this.connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        this.httpClient = new DefaultHttpClient(connectionManager);
+        // Apache waits for a lease while holding a monitor, which pins virtual threads, so never wait forever
+        httpClient.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeout.toMillis());
+        long keepAliveMs = keepAlive.toMillis();
+        httpClient.setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                long serverKeepAlive = super.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+            }
+        });
+        httpClient.addRequestInterceptor((request, context) -> countConnection(context));
+
+        // The factory always hands out the same instance, so every request spec shares the pool
+        this.restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient));
+    }
+
+    /**
+     * Gets the client shared by all pages in the JVM
+     * Sized by http.pool.max.total, http.pool.max.per.route, http.keepalive.ms and http.pool.lease.timeout.ms
+     * @return Shared pooled client
+     */
+    public static PooledHttpClient shared() {
+        PooledHttpClient current = shared;
+        if (current == null) {
+            synchronized (PooledHttpClient.class) {
+                current = shared;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    current = StartupTimer.time("http client pool", () -> new PooledHttpClient(
+                            config.getIntProperty("http.pool.max.total", 50),
+                            config.getIntProperty("http.pool.max.per.route", 20),
+                            Duration.ofMillis(config.getIntProperty("http.keepalive.ms", 30_000)),
+                            Duration.ofMillis(config.getIntProperty("http.pool.lease.timeout.ms", 10_000))));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the RestAssured configuration that routes requests through this pool
+     * @return RestAssured configuration bound to the pooled client
+     */
+    public RestAssuredConfig restAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Opens pooled connections before measured work starts
+     * Sends concurrent GET requests to the base URL so each one leases a separate connection;
+     * the response status is irrelevant, only the handshake matters
+     * @param baseUrl The API base URL
+     * @param connections Number of connections to open
+     * @return Number of new connections opened by the warm-up
+     */
+    public long warmUp(String baseUrl, int connections) {
+        long before = newConnections.sum();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        HttpResponse response = httpClient.execute(new HttpGet(baseUrl));
+                        EntityUtils.consume(response.getEntity());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        logger.debug("Warm-up request to {} failed", baseUrl, e);
+                    }
+                });
+            }
+            start.countDown();
+        }
+        long opened = newConnections.sum() - before;
+        logger.info("Warm-up opened {} connection(s) to {}", opened, baseUrl);
+        return opened;
+    }
+
+    /**
+     * Gets how many requests had to open a new connection
+     * @return New connection count
+     */
+    public long getNewConnectionCount() {
+        return newConnections.sum();
+    }
+
+    /**
+     * Gets how many requests were sent on an already open connection
+     * @return Reused connection count
+     */
+    public long getReusedConnectionCount() {
+        return reusedConnections.sum();
+    }
+
+    /**
+     * Gets the maximum number of connections per host
+     * Blocking callers should not run more concurrent requests than this
+     * @return Maximum pooled connections per route
+     */
+    public int getMaxPerRoute() {
+        return connectionManager.getDefaultMaxPerRoute();
+    }
+
+    /**
+     * Gets the number of idle connections currently kept in the pool
+     * @return Available pooled connections
+     */
+    public int getIdleConnectionCount() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    @Override
+    public void close() {
+        connectionManager.shutdown();
+    }
+
+    private void countConnection(HttpContext context) {
+        Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+        if (connection instanceof HttpConnection httpConnection
+                && httpConnection.getMetrics().getRequestCount() > 0) {
+            reusedConnections.increment();
+        } else {
+            newConnections.increment();
+        }
+    }
+}
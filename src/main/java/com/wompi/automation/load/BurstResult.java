@@ -0,0 +1,68 @@
+package com.wompi.automation.load;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * Result of a burst of requests
+ * Holds counts, elapsed time and the latency histogram of every request that got a response
+ */
+@Data
+@AllArgsConstructor
+public class BurstResult {
+
+    private final int requests;
+    private final long succeeded;
+    private final long failed;
+    private final Duration elapsed;
+
+    @Getter(AccessLevel.NONE)
+    private final Histogram latencies;
+
+    /**
+     * Gets the achieved throughput
+     * @return Completed requests per second
+     */
+    public double getThroughput() {
+        return LoadSummary.perSecond(succeeded + failed, elapsed);
+    }
+
+    /**
+     * Gets the fraction of requests that failed
+     * @return Error rate between 0 and 1
+     */
+    public double getErrorRate() {
+        long completed = succeeded + failed;
+        return completed == 0 ? 0 : (double) failed / completed;
+    }
+
+    /**
+     * Gets a latency percentile
+     * @param percentile Percentile between 0 and 100, for example 99.9
+     * @return Latency in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Gets the slowest latency
+     * @return Latency in milliseconds
+     */
+    public double getMaxLatencyMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests (%d failed) in %.2f s: %.2f req/s, p50 %.1f ms, p90 %.1f ms, "
+                        + "p99 %.1f ms, p99.9 %.1f ms, max %.1f ms",
+                requests, failed, elapsed.toMillis() / 1000.0, getThroughput(), getLatencyMillis(50),
+                getLatencyMillis(90), getLatencyMillis(99), getLatencyMillis(99.9), getMaxLatencyMillis());
+    }
+}
@@ -0,0 +1,103 @@
+package com.wompi.automation.load;
+
+import com.wompi.automation.utils.ResponseUtils;
+import io.restassured.response.Response;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Closed-model runner that sends a fixed number of requests with bounded concurrency
+ * Used to measure latency percentiles and throughput for performance assertions,
+ * where a rate profile like LoadGenerator's is not needed.
+ * Bursts run one at a time per JVM: parallel scenarios would skew each other's numbers, and together
+ * they could exceed the connection pool, pinning virtual threads while they wait for a connection
+ */
+public class BurstRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BurstRunner.class);
+    private static final ReentrantLock RUNNING = new ReentrantLock();
+
+    private final int concurrency;
+
+    /**
+     * Creates a runner
+     * @param concurrency Maximum requests in flight; keep it at or below the HTTP pool size per host
+     */
+    public BurstRunner(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sends the requests and waits for all of them to finish
+     * The task is primed first on the calling thread to initialize RestAssured; that request is not counted.
+     * Waits while another burst is running
+     * @param task The request to send
+     * @param requests Number of timed requests
+     * @return Counts, throughput and latency percentiles
+     */
+    public BurstResult run(LoadTask task, int requests) {
+        RUNNING.lock();
+        try {
+            return runExclusively(task, requests);
+        } finally {
+            RUNNING.unlock();
+        }
+    }
+
+    private BurstResult runExclusively(LoadTask task, int requests) {
+        Recorder latencies = new Recorder(3);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Semaphore inFlight = new Semaphore(concurrency);
+        prime(task);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        Response response = task.execute();
+                        latencies.recordValue(System.nanoTime() - sent);
+                        if (response != null && ResponseUtils.isSuccessResponse(response)) {
+                            succeeded.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    } catch (Exception e) {
+                        failed.increment();
+                        logger.debug("Burst request failed", e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        BurstResult result = new BurstResult(requests, succeeded.sum(), failed.sum(), elapsed,
+                latencies.getIntervalHistogram());
+        logger.info("Burst finished: {}", result);
+        return result;
+    }
+
+    private void prime(LoadTask task) {
+        try {
+            task.prime();
+        } catch (Exception e) {
+            logger.debug("Priming request failed", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.wompi.automation.load;
+
+import com.wompi.automation.utils.ResponseUtils;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the Wompi transactions API
+ * Sends requests at the rate defined by a LoadProfile, each one on its own virtual thread,
+ * so slow responses never hold back the send schedule
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadProfile profile;
+
+    public LoadGenerator(LoadProfile profile) {
+        if (profile.getTargetRps() <= 0) {
+            throw new IllegalArgumentException("Target RPS must be positive");
+        }
+        this.profile = profile;
+    }
+
+    /**
+     * Runs the load profile against a task and waits for all requests to finish
+     * @param task The request to send repeatedly
+     * @return Summary of the run
+     */
+    public LoadSummary run(LoadTask task) {
+        Map<LoadPhase, PhaseCounters> counters = new EnumMap<>(LoadPhase.class);
+        for (LoadPhase phase : LoadPhase.values()) {
+            counters.put(phase, new PhaseCounters());
+        }
+        Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+        long sent = 0;
+        long dropped = 0;
+        prime(task);
+
+        logger.info("Starting load run: {} req/s for {}", profile.getTargetRps(), profile.getTotalDuration());
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long offset;
+            while ((offset = profile.sendTimeOf(sent + dropped + 1)) >= 0) {
+                waitUntil(start + offset);
+                PhaseCounters phase = counters.get(profile.phaseAt(offset));
+                if (inFlight.tryAcquire()) {
+                    sent++;
+                    executor.execute(() -> {
+                        try {
+                            execute(task, phase);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    dropped++;
+                }
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        LoadSummary summary = summarize(elapsed, sent, dropped, counters);
+        logger.info("{}", summary);
+        return summary;
+    }
+
+    /**
+     * Primes the task with one untimed request on the calling platform thread, which is not counted
+     * RestAssured initializes Groovy classes on first use; doing that concurrently on virtual
+     * threads pins their carriers inside class initializers and can stall the whole run
+     * @param task The task to prime
+     */
+    private void prime(LoadTask task) {
+        try {
+            task.prime();
+        } catch (Exception e) {
+            logger.debug("Priming request failed", e);
+        }
+    }
+
+    private void execute(LoadTask task, PhaseCounters phase) {
+        try {
+            Response response = task.execute();
+            if (response != null && ResponseUtils.isSuccessResponse(response)) {
+                phase.succeeded.increment();
+            } else {
+                phase.failed.increment();
+            }
+        } catch (Exception e) {
+            phase.failed.increment();
+            logger.debug("Load request failed", e);
+        }
+    }
+
+    private LoadSummary summarize(Duration elapsed, long sent, long dropped,
+                                  Map<LoadPhase, PhaseCounters> counters) {
+        Map<LoadPhase, Duration> durations = Map.of(
+                LoadPhase.RAMP_UP, profile.getRampUp(),
+                LoadPhase.STEADY_STATE, profile.getSteadyState(),
+                LoadPhase.RAMP_DOWN, profile.getRampDown());
+        Map<LoadPhase, LoadSummary.PhaseSummary> phases = new EnumMap<>(LoadPhase.class);
+        long succeeded = 0;
+        long failed = 0;
+        for (LoadPhase phase : LoadPhase.values()) {
+            PhaseCounters phaseCounters = counters.get(phase);
+            long phaseSucceeded = phaseCounters.succeeded.sum();
+            long phaseFailed = phaseCounters.failed.sum();
+            succeeded += phaseSucceeded;
+            failed += phaseFailed;
+            phases.put(phase, new LoadSummary.PhaseSummary(durations.get(phase), phaseSucceeded, phaseFailed));
+        }
+        return new LoadSummary(elapsed, sent, succeeded, failed, dropped, phases);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static class PhaseCounters {
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+}
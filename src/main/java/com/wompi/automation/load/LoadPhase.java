@@ -0,0 +1,11 @@
+package com.wompi.automation.load;
+
+/**
+ * Phases of a load run
+ * The target rate ramps up, holds steady and ramps back down
+ */
+public enum LoadPhase {
+    RAMP_UP,
+    STEADY_STATE,
+    RAMP_DOWN
+}
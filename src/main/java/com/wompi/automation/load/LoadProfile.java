@@ -0,0 +1,91 @@
+package com.wompi.automation.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run
+ * Defines the target request rate and how long each phase lasts
+ */
+@Getter
+@Builder
+public class LoadProfile {
+
+    /** Requests per second held during the steady-state phase */
+    private final double targetRps;
+
+    @Builder.Default
+    private final Duration rampUp = Duration.ofSeconds(10);
+
+    @Builder.Default
+    private final Duration steadyState = Duration.ofSeconds(60);
+
+    @Builder.Default
+    private final Duration rampDown = Duration.ofSeconds(10);
+
+    /**
+     * Upper bound of concurrent in-flight requests, further sends are dropped
+     * Blocking RestAssured tasks should stay within the HTTP connection pool size
+     */
+    @Builder.Default
+    private final int maxInFlight = 1_000;
+
+    /**
+     * Total duration of the run
+     * @return Sum of all phase durations
+     */
+    public Duration getTotalDuration() {
+        return rampUp.plus(steadyState).plus(rampDown);
+    }
+
+    /**
+     * Gets the phase active at a point of the run
+     * @param elapsedNanos Nanoseconds since the run started
+     * @return Active phase
+     */
+    public LoadPhase phaseAt(long elapsedNanos) {
+        if (elapsedNanos < rampUp.toNanos()) {
+            return LoadPhase.RAMP_UP;
+        }
+        if (elapsedNanos < rampUp.toNanos() + steadyState.toNanos()) {
+            return LoadPhase.STEADY_STATE;
+        }
+        return LoadPhase.RAMP_DOWN;
+    }
+
+    /**
+     * Gets the scheduled send time of a request
+     * Inverts the cumulative request count of the linear ramps, so the k-th request
+     * is sent exactly when the integrated target rate reaches k
+     * @param sequence One-based request number
+     * @return Nanoseconds since the run started, or -1 if the run is over before this request
+     */
+    public long sendTimeOf(long sequence) {
+        double rampUpSeconds = seconds(rampUp);
+        double steadySeconds = seconds(steadyState);
+        double rampDownSeconds = seconds(rampDown);
+        double rampUpCount = targetRps * rampUpSeconds / 2;
+        double steadyCount = targetRps * steadySeconds;
+        double rampDownCount = targetRps * rampDownSeconds / 2;
+
+        double time;
+        if (sequence <= rampUpCount) {
+            time = Math.sqrt(2 * rampUpSeconds * sequence / targetRps);
+        } else if (sequence <= rampUpCount + steadyCount) {
+            time = rampUpSeconds + (sequence - rampUpCount) / targetRps;
+        } else if (sequence <= rampUpCount + steadyCount + rampDownCount) {
+            double remaining = sequence - rampUpCount - steadyCount;
+            double fraction = Math.max(0, 1 - 2 * remaining / (targetRps * rampDownSeconds));
+            time = rampUpSeconds + steadySeconds + rampDownSeconds * (1 - Math.sqrt(fraction));
+        } else {
+            return -1;
+        }
+        return (long) (time * 1_000_000_000L);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.wompi.automation.load;
+
+import com.wompi.automation.builders.TestDataBuilder;
+import com.wompi.automation.feeds.FeedStrategy;
+import com.wompi.automation.feeds.PaymentFeeds;
+import com.wompi.automation.http.PooledHttpClient;
+import com.wompi.automation.metrics.LatencyRecorder;
+import com.wompi.automation.metrics.LatencyReport;
+import com.wompi.automation.metrics.LatencySnapshot;
+import com.wompi.automation.metrics.StartupTimer;
+import com.wompi.automation.pages.WompiPaymentPage;
+import com.wompi.automation.ratelimit.TransactionRateLimiter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line entry point for load runs
+ * Reads the run settings from system properties:
+ * load.method (PSE or NEQUI), load.rps, load.rampup.seconds, load.steady.seconds,
+ * load.rampdown.seconds and load.max.inflight (defaults to the HTTP pool size per host).
+ * load.feed.file takes the requests from a CSV or JSONL data feed instead of testdata.properties,
+ * read with load.feed.strategy (CIRCULAR, RANDOM or UNIQUE, defaults to CIRCULAR).
+ * Latency percentiles and the startup time breakdown are printed at the end, followed by the rate limiter waits
+ * when rate.limit.* is configured; the percentiles are also written to metrics.prometheus.file
+ * (defaults to target/metrics/latency.prom)
+ */
+public class LoadRunner {
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.builder()
+                .targetRps(Double.parseDouble(System.getProperty("load.rps", "10")))
+                .rampUp(Duration.ofSeconds(Long.getLong("load.rampup.seconds", 10)))
+                .steadyState(Duration.ofSeconds(Long.getLong("load.steady.seconds", 60)))
+                .rampDown(Duration.ofSeconds(Long.getLong("load.rampdown.seconds", 10)))
+                .maxInFlight(Integer.getInteger("load.max.inflight", PooledHttpClient.shared().getMaxPerRoute()))
+                .build();
+
+        // WompiPaymentPage is immutable, so every worker shares one page
+        WompiPaymentPage page = new WompiPaymentPage();
+        String method = System.getProperty("load.method", "PSE");
+        String feedFile = System.getProperty("load.feed.file");
+        FeedStrategy feedStrategy = FeedStrategy.valueOf(
+                System.getProperty("load.feed.strategy", "CIRCULAR").toUpperCase(Locale.ROOT));
+        LoadTask task = switch (method.toUpperCase(Locale.ROOT)) {
+            case "PSE" -> LoadTask.psePayment(() -> page, feedFile == null
+                    ? TestDataBuilder::buildValidPSEPaymentRequest
+                    : PaymentFeeds.psePayments(Path.of(feedFile), feedStrategy));
+            case "NEQUI" -> LoadTask.nequiPayment(() -> page, feedFile == null
+                    ? TestDataBuilder::buildValidNequiPaymentRequest
+                    : PaymentFeeds.nequiPayments(Path.of(feedFile), feedStrategy));
+            default -> throw new IllegalArgumentException("Unsupported load.method: " + method);
+        };
+
+        LoadSummary summary = new LoadGenerator(profile).run(task);
+        System.out.println(summary);
+
+        List<LatencySnapshot> latencies = LatencyRecorder.shared().snapshot();
+        System.out.print(LatencyReport.toText(latencies));
+        System.out.print(StartupTimer.report());
+        LatencyReport.writePrometheus(Path.of(System.getProperty("metrics.prometheus.file",
+                "target/metrics/latency.prom")), latencies);
+        TransactionRateLimiter rateLimiter = TransactionRateLimiter.shared();
+        if (rateLimiter.isEnabled()) {
+            System.out.println(rateLimiter);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.wompi.automation.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Result of a load run
+ * Holds request counts, throughput and error rate overall and per phase
+ */
+@Data
+@AllArgsConstructor
+public class LoadSummary {
+
+    private final Duration elapsed;
+    private final long sent;
+    private final long succeeded;
+    private final long failed;
+    private final long dropped;
+    private final Map<LoadPhase, PhaseSummary> phases;
+
+    /**
+     * Gets the number of requests that finished, successfully or not
+     * @return Completed request count
+     */
+    public long getCompleted() {
+        return succeeded + failed;
+    }
+
+    /**
+     * Gets the achieved throughput over the whole run
+     * @return Completed requests per second
+     */
+    public double getThroughput() {
+        return perSecond(getCompleted(), elapsed);
+    }
+
+    /**
+     * Gets the fraction of completed requests that failed
+     * @return Error rate between 0 and 1
+     */
+    public double getErrorRate() {
+        long completed = getCompleted();
+        return completed == 0 ? 0 : (double) failed / completed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Load summary: %d sent, %d succeeded, %d failed, %d dropped in %.1f s%n",
+                sent, succeeded, failed, dropped, elapsed.toMillis() / 1000.0));
+        builder.append(String.format("Throughput: %.2f req/s, error rate: %.2f%%%n",
+                getThroughput(), getErrorRate() * 100));
+        phases.forEach((phase, summary) -> builder.append(String.format("  %-12s %s%n", phase, summary)));
+        return builder.toString();
+    }
+
+    static double perSecond(long count, Duration duration) {
+        long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : count * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Counts for a single phase of the run
+     */
+    @Data
+    @AllArgsConstructor
+    public static class PhaseSummary {
+        private final Duration duration;
+        private final long succeeded;
+        private final long failed;
+
+        public double getThroughput() {
+            return perSecond(succeeded + failed, duration);
+        }
+
+        public double getErrorRate() {
+            long completed = succeeded + failed;
+            return completed == 0 ? 0 : (double) failed / completed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d succeeded, %d failed, %.2f req/s, error rate %.2f%%",
+                    succeeded, failed, getThroughput(), getErrorRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.wompi.automation.load;
+
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import com.wompi.automation.pages.WompiPaymentPage;
+import io.restassured.response.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * Single unit of work sent by the load generator
+ */
+@FunctionalInterface
+public interface LoadTask {
+
+    /** Reference looked up when priming payment tasks; it matches no transaction */
+    String PRIMING_REFERENCE = "load-priming";
+
+    /**
+     * Executes one request
+     * @return Response from the API
+     * @throws Exception if the request could not be completed
+     */
+    Response execute() throws Exception;
+
+    /**
+     * Sends one untimed request that initializes the HTTP client before a run
+     * Runners call it once on a platform thread and do not count it. By default the task itself is executed;
+     * tasks that create transactions prime with a lookup instead, see {@link #primedBy(LoadTask)}
+     * @throws Exception if the request could not be completed
+     */
+    default void prime() throws Exception {
+        execute();
+    }
+
+    /**
+     * Returns this task with another request used for priming
+     * @param primer Cheap request, such as a lookup, sent instead of this task when priming
+     * @return Task that executes this task and primes with the given request
+     */
+    default LoadTask primedBy(LoadTask primer) {
+        LoadTask task = this;
+        return new LoadTask() {
+            @Override
+            public Response execute() throws Exception {
+                return task.execute();
+            }
+
+            @Override
+            public void prime() throws Exception {
+                primer.execute();
+            }
+        };
+    }
+
+    /**
+     * Creates a task that sends PSE payments
+     * Primes with a lookup by reference, so priming creates no transaction
+     * @param pageSupplier Supplies the payment page used for each request
+     * @param requestSupplier Supplies a fresh PSE payment request for each call
+     * @return Task creating one PSE payment per execution
+     */
+    static LoadTask psePayment(Supplier<WompiPaymentPage> pageSupplier,
+                               Supplier<PSEPaymentRequest> requestSupplier) {
+        LoadTask task = () -> pageSupplier.get().createPSEPayment(requestSupplier.get());
+        return task.primedBy(() -> pageSupplier.get().getTransactionByReference(PRIMING_REFERENCE));
+    }
+
+    /**
+     * Creates a task that sends Nequi payments
+     * Primes with a lookup by reference, so priming creates no transaction
+     * @param pageSupplier Supplies the payment page used for each request
+     * @param requestSupplier Supplies a fresh Nequi payment request for each call
+     * @return Task creating one Nequi payment per execution
+     */
+    static LoadTask nequiPayment(Supplier<WompiPaymentPage> pageSupplier,
+                                 Supplier<NequiPaymentRequest> requestSupplier) {
+        LoadTask task = () -> pageSupplier.get().createNequiPayment(requestSupplier.get());
+        return task.primedBy(() -> pageSupplier.get().getTransactionByReference(PRIMING_REFERENCE));
+    }
+}
@@ -0,0 +1,239 @@
+package com.wompi.automation.logging;
+
+import com.wompi.automation.config.ConfigManager;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs API responses from a background thread
+ * The calling thread only samples the response and hands a reference to it to a lock-free ring buffer;
+ * formatting, redaction of credential headers, body truncation and the slf4j call all happen on the writer.
+ * When the buffer is full the event is dropped and counted rather than slowing the request down.
+ * Only the response is logged, so redaction covers response headers such as Set-Cookie; the request, including its
+ * Authorization header, is never written. Final because the constructor starts the writer thread on this instance
+ */
+public final class AsyncResponseLogger implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncResponseLogger.class);
+
+    static final String REDACTED = "[REDACTED]";
+
+    private static final Set<String> REDACTED_HEADERS = Set.of("authorization", "proxy-authorization", "set-cookie");
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(1).toNanos();
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static volatile AsyncResponseLogger shared;
+
+    private final LogRingBuffer<Event> buffer;
+    private final LogSampler sampler;
+    private final int maxBodyChars;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a logger and starts its writer thread
+     * @param capacity Number of events that can wait for the writer, rounded up to a power of two
+     * @param sampler Which responses are logged
+     * @param maxBodyChars Longest body logged; longer bodies are cut and marked as truncated
+     */
+    public AsyncResponseLogger(int capacity, LogSampler sampler, int maxBodyChars) {
+        if (maxBodyChars < 0) {
+            throw new IllegalArgumentException("Maximum logged body length must not be negative, was " + maxBodyChars);
+        }
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.sampler = sampler;
+        this.maxBodyChars = maxBodyChars;
+        this.writer = Thread.ofPlatform().name("response-logger").daemon().start(this::drain);
+    }
+
+    /**
+     * Gets the logger shared by the JVM, which drains its buffer on shutdown
+     * Configured by log.buffer.size, log.body.max.chars, log.sample.failure.rate and log.sample.success.rate
+     * @return Shared logger
+     */
+    public static AsyncResponseLogger shared() {
+        AsyncResponseLogger current = shared;
+        if (current == null) {
+            synchronized (AsyncResponseLogger.class) {
+                current = shared;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    current = new AsyncResponseLogger(
+                            config.getIntProperty("log.buffer.size", 1024),
+                            new LogSampler(rate(config, "log.sample.failure.rate"),
+                                    rate(config, "log.sample.success.rate")),
+                            config.getIntProperty("log.body.max.chars", 2048));
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::close, "response-logger-shutdown"));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Queues a response for logging if the sampler selects it
+     * @param response The API response
+     * @param testName The name of the test for context
+     * @return true if the response was queued
+     */
+    public boolean log(Response response, String testName) {
+        if (!sampler.shouldLog(response.getStatusCode())) {
+            return false;
+        }
+        if (!running || !buffer.offer(new Event(testName, response))) {
+            dropped.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Waits until every response queued before this call has been written
+     * @param timeout Longest time to wait
+     * @return true if everything was written in time
+     */
+    public boolean flush(Duration timeout) {
+        long target = accepted.sum();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.get() < target) {
+            if (System.nanoTime() - deadline >= 0 || !writer.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Gets how many sampled responses were dropped because the buffer was full
+     * @return Dropped count
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets how many responses were written so far
+     * @return Written count
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Stops accepting responses, writes what is queued and stops the writer
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.sum() > 0) {
+            logger.warn("Dropped {} response log event(s) because the log buffer was full", dropped.sum());
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Event event = buffer.poll();
+            if (event == null) {
+                if (!running) {
+                    // Producers that passed the running check may still be publishing
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    if ((event = buffer.poll()) == null) {
+                        return;
+                    }
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+            }
+            try {
+                logger.info(format(event.testName(), event.response()));
+            } catch (RuntimeException e) {
+                logger.warn("Could not log response for {}", event.testName(), e);
+            }
+            written.lazySet(written.get() + 1);
+        }
+    }
+
+    /**
+     * Formats one response as a single multi-line message
+     * @param testName The name of the test for context
+     * @param response The API response
+     * @return Message with credential response headers redacted and the body truncated
+     */
+    String format(String testName, Response response) {
+        return "=== " + testName + " Response Details ===" + System.lineSeparator()
+                + "Status Code: " + response.getStatusCode() + System.lineSeparator()
+                + "Status Line: " + response.getStatusLine() + System.lineSeparator()
+                + "Headers: " + redact(response.getHeaders()) + System.lineSeparator()
+                + "Response Body: " + truncate(response.asByteArray()) + System.lineSeparator()
+                + "Response Time: " + response.getTime() + " ms" + System.lineSeparator()
+                + "=== End Response Details ===";
+    }
+
+    private static String redact(Headers headers) {
+        StringBuilder text = new StringBuilder().append('[');
+        for (Header header : headers) {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(header.getName()).append('=')
+                    .append(REDACTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT)) ? REDACTED : header.getValue());
+        }
+        return text.append(']').toString();
+    }
+
+    private String truncate(byte[] body) {
+        if (body == null || body.length == 0) {
+            return "";
+        }
+        // A UTF-8 character is at most 4 bytes, so never decode more than the limit can show
+        int decoded = (int) Math.min(body.length, 4L * maxBodyChars + 4);
+        String text = new String(body, 0, decoded, StandardCharsets.UTF_8);
+        if (text.length() <= maxBodyChars && decoded == body.length) {
+            return text;
+        }
+        return text.substring(0, Math.min(maxBodyChars, text.length()))
+                + "... [truncated, " + body.length + " bytes]";
+    }
+
+    private static double rate(ConfigManager config, String key) {
+        String value = config.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid sample rate for " + key + ": " + value, e);
+        }
+    }
+
+    private record Event(String testName, Response response) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.wompi.automation.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer for many producers and a single consumer
+ * Each slot carries a sequence number: producers claim a slot with one CAS on the tail and publish it by
+ * advancing the slot's sequence, so a full buffer rejects the event instead of blocking the caller
+ *
+ * @param <T> Element type
+ */
+public class LogRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Only touched by the consumer
+
+    /**
+     * Creates a ring buffer
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 2 and 2^30, was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element without blocking
+     * Safe to call from any number of threads
+     * @param element Element to add
+     * @return false if the buffer is full
+     */
+    public boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.setPlain(index, element);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed the slot first; retry with the new tail
+        }
+    }
+
+    /**
+     * Removes the oldest published element
+     * Must only be called from the single consumer thread
+     * @return Element, or null if none is published yet
+     */
+    public T poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        T element = slots.getPlain(index);
+        slots.setPlain(index, null);
+        sequences.setRelease(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Gets the number of slots
+     * @return Capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
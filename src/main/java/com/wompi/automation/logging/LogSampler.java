@@ -0,0 +1,37 @@
+package com.wompi.automation.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which responses are logged, with separate rates for failures and successes
+ * A response is a failure when its status is 400 or higher
+ *
+ * @param failureRate Fraction of failed responses to log, from 0 to 1
+ * @param successRate Fraction of successful responses to log, from 0 to 1
+ */
+public record LogSampler(double failureRate, double successRate) {
+
+    /** Logs every response */
+    public static final LogSampler ALL = new LogSampler(1.0, 1.0);
+
+    public LogSampler {
+        checkRate("failure", failureRate);
+        checkRate("success", successRate);
+    }
+
+    /**
+     * Decides whether a response is logged
+     * @param statusCode HTTP status code
+     * @return true if the response should be logged
+     */
+    public boolean shouldLog(int statusCode) {
+        double rate = statusCode >= 400 ? failureRate : successRate;
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static void checkRate(String name, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Log " + name + " sample rate must be between 0 and 1, was " + rate);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wompi.automation.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * RestAssured filter that records the latency of every call into a {@link LatencyRecorder}
+ * Calls are tagged with an endpoint template, where path segments holding ids become {id},
+ * and with the payment method from the request body or, for lookups, from the response
+ */
+public class LatencyFilter implements Filter {
+
+    static final String UNKNOWN_METHOD = "unknown";
+
+    private static final ResponseFieldExtractor REQUEST_METHOD = ResponseFieldExtractor.of("payment_method.type");
+    private static final ResponseFieldExtractor RESPONSE_METHOD =
+            ResponseFieldExtractor.of("data.payment_method_type", "data.0.payment_method_type");
+
+    private final LatencyRecorder recorder;
+
+    /**
+     * Creates a filter
+     * @param recorder Where latencies are recorded
+     */
+    public LatencyFilter(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long latency = System.nanoTime() - start;
+        recorder.record(endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath(),
+                requestSpec.getQueryParams()), paymentMethod(requestSpec.getBody(), response), latency);
+        return response;
+    }
+
+    /**
+     * Builds the endpoint template of a call
+     * @param method HTTP method
+     * @param path Request path relative to the base URI
+     * @param queryParams Query parameters; only their names are kept
+     * @return Template such as GET /transactions/{id} or GET /transactions?reference
+     */
+    static String endpoint(String method, String path, Map<String, String> queryParams) {
+        StringBuilder endpoint = new StringBuilder(48).append(method).append(' ');
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                endpoint.append('/').append(isId(segment) ? "{id}" : segment);
+            }
+        }
+        if (!queryParams.isEmpty()) {
+            endpoint.append('?').append(String.join("&", new TreeSet<>(queryParams.keySet())));
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isId(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String paymentMethod(Object requestBody, Response response) {
+        try {
+            if (requestBody != null) {
+                byte[] body = requestBody instanceof byte[] bytes
+                        ? bytes : requestBody.toString().getBytes(StandardCharsets.UTF_8);
+                String method = ResponseFieldExtractor.asText(REQUEST_METHOD.extract(body).get("payment_method.type"));
+                return method == null ? UNKNOWN_METHOD : method;
+            }
+            Map<String, JsonNode> fields = RESPONSE_METHOD.extract(response.asByteArray());
+            String method = ResponseFieldExtractor.asText(fields.get("data.payment_method_type"));
+            if (method == null) {
+                method = ResponseFieldExtractor.asText(fields.get("data.0.payment_method_type"));
+            }
+            return method == null ? UNKNOWN_METHOD : method;
+        } catch (RuntimeException e) {
+            return UNKNOWN_METHOD; // Not JSON
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.wompi.automation.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms per endpoint and payment method
+ * Recording is wait-free: each series writes to an HdrHistogram {@link Recorder}, and only a snapshot
+ * swaps the recorder's interval histogram out and adds it to the running total
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static volatile LatencyRecorder shared;
+
+    private final ConcurrentMap<SeriesKey, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the recorder shared by every payment page in the JVM
+     * @return Shared recorder
+     */
+    public static LatencyRecorder shared() {
+        LatencyRecorder current = shared;
+        if (current == null) {
+            synchronized (LatencyRecorder.class) {
+                current = shared;
+                if (current == null) {
+                    current = new LatencyRecorder();
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Records one call
+     * @param endpoint Endpoint template
+     * @param paymentMethod Payment method type
+     * @param latencyNanos Call latency in nanoseconds
+     */
+    public void record(String endpoint, String paymentMethod, long latencyNanos) {
+        series.computeIfAbsent(new SeriesKey(endpoint, paymentMethod), key -> new Series())
+                .recorder.recordValue(Math.max(latencyNanos, 0));
+    }
+
+    /**
+     * Gets the percentiles of every series recorded so far, ordered by endpoint and payment method
+     * @return One snapshot per series
+     */
+    public List<LatencySnapshot> snapshot() {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        series.forEach((key, value) -> {
+            Histogram total = value.total();
+            if (total.getTotalCount() > 0) {
+                snapshots.add(new LatencySnapshot(key.endpoint(), key.paymentMethod(), total.getTotalCount(),
+                        total.getValueAtPercentile(50), total.getValueAtPercentile(90),
+                        total.getValueAtPercentile(99), total.getValueAtPercentile(99.9), total.getMaxValue(),
+                        Math.round(total.getMean() * total.getTotalCount())));
+            }
+        });
+        snapshots.sort(Comparator.comparing(LatencySnapshot::endpoint).thenComparing(LatencySnapshot::paymentMethod));
+        return snapshots;
+    }
+
+    /**
+     * Discards everything recorded so far
+     */
+    public void reset() {
+        series.clear();
+    }
+
+    private record SeriesKey(String endpoint, String paymentMethod) {
+    }
+
+    private static final class Series {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        /**
+         * Moves what was recorded since the last call into the total
+         * Synchronized only against other readers; writers never wait
+         */
+        synchronized Histogram total() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.copy();
+        }
+    }
+}
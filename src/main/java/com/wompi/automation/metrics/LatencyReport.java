@@ -0,0 +1,99 @@
+package com.wompi.automation.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats latency snapshots as a text table or in the Prometheus text exposition format
+ */
+public final class LatencyReport {
+
+    static final String METRIC = "wompi_api_latency_seconds";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private LatencyReport() {
+    }
+
+    /**
+     * Formats a human readable table with times in milliseconds
+     * @param snapshots Snapshots from {@link LatencyRecorder#snapshot()}
+     * @return Text table
+     */
+    public static String toText(List<LatencySnapshot> snapshots) {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "%-32s %-8s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Method", "Count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LatencySnapshot snapshot : snapshots) {
+            text.append(String.format(Locale.ROOT, "%-32s %-8s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    snapshot.endpoint(), snapshot.paymentMethod(), snapshot.count(),
+                    millis(snapshot.p50Nanos()), millis(snapshot.p90Nanos()), millis(snapshot.p99Nanos()),
+                    millis(snapshot.p999Nanos()), millis(snapshot.maxNanos())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats the snapshots as a Prometheus summary plus a max gauge, in seconds
+     * @param snapshots Snapshots from {@link LatencyRecorder#snapshot()}
+     * @return Prometheus text exposition
+     */
+    public static String toPrometheus(List<LatencySnapshot> snapshots) {
+        StringBuilder text = new StringBuilder()
+                .append("# HELP ").append(METRIC).append(" Latency of Wompi API calls by endpoint and payment method\n")
+                .append("# TYPE ").append(METRIC).append(" summary\n");
+        for (LatencySnapshot snapshot : snapshots) {
+            String labels = "endpoint=\"" + escape(snapshot.endpoint()) + "\",payment_method=\""
+                    + escape(snapshot.paymentMethod()) + "\"";
+            long[] values = {snapshot.p50Nanos(), snapshot.p90Nanos(), snapshot.p99Nanos(), snapshot.p999Nanos()};
+            for (int i = 0; i < QUANTILES.length; i++) {
+                text.append(METRIC).append('{').append(labels).append(",quantile=\"").append(QUANTILES[i])
+                        .append("\"} ").append(seconds(values[i])).append('\n');
+            }
+            text.append(METRIC).append("_sum{").append(labels).append("} ")
+                    .append(seconds(snapshot.totalNanos())).append('\n');
+            text.append(METRIC).append("_count{").append(labels).append("} ").append(snapshot.count()).append('\n');
+        }
+        text.append("# HELP ").append(METRIC).append("_max Slowest Wompi API call by endpoint and payment method\n")
+                .append("# TYPE ").append(METRIC).append("_max gauge\n");
+        for (LatencySnapshot snapshot : snapshots) {
+            text.append(METRIC).append("_max{endpoint=\"").append(escape(snapshot.endpoint()))
+                    .append("\",payment_method=\"").append(escape(snapshot.paymentMethod())).append("\"} ")
+                    .append(seconds(snapshot.maxNanos())).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the Prometheus text exposition to a file, creating its directory
+     * @param file Target file, for example target/metrics/latency.prom
+     * @param snapshots Snapshots from {@link LatencyRecorder#snapshot()}
+     */
+    public static void writePrometheus(Path file, List<LatencySnapshot> snapshots) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, toPrometheus(snapshots), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing latency metrics to " + file, e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,21 @@
+package com.wompi.automation.metrics;
+
+/**
+ * Latency percentiles of one endpoint and payment method since recording started
+ * Values are in nanoseconds, with the precision of the underlying histogram (3 significant digits)
+ *
+ * @param endpoint Endpoint template, for example POST /transactions or GET /transactions/{id}
+ * @param paymentMethod Payment method type, or unknown when the exchange did not show it
+ * @param totalNanos Approximate sum of all latencies, derived from the histogram mean
+ */
+public record LatencySnapshot(
+        String endpoint,
+        String paymentMethod,
+        long count,
+        long p50Nanos,
+        long p90Nanos,
+        long p99Nanos,
+        long p999Nanos,
+        long maxNanos,
+        long totalNanos) {
+}
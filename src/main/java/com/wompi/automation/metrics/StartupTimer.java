@@ -0,0 +1,86 @@
+package com.wompi.automation.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Breaks the time from JVM start to the first API request down by initialization phase
+ * Components time their one-off initialization with {@link #time}; a phase started inside another
+ * is subtracted from the outer one, so every millisecond is counted once. What no phase covers,
+ * such as JVM boot, class loading and test framework startup, is reported as unattributed
+ */
+public final class StartupTimer {
+
+    private static final ConcurrentMap<String, LongAdder> phaseNanos = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<long[]>> running = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final AtomicLong firstRequestMillis = new AtomicLong();
+    private static final AtomicLong nanosBeforeFirstRequest = new AtomicLong(-1);
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Runs and times an initialization phase
+     * @param phase Phase name, for example config or json mapper
+     * @param initializer The initialization
+     * @param <T> Result type
+     * @return Result of the initializer
+     */
+    public static <T> T time(String phase, Supplier<T> initializer) {
+        Deque<long[]> stack = running.get();
+        long[] childNanos = new long[1];
+        stack.push(childNanos);
+        long start = System.nanoTime();
+        try {
+            return initializer.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stack.pop();
+            if (!stack.isEmpty()) {
+                stack.peek()[0] += elapsed;
+            }
+            phaseNanos.computeIfAbsent(phase, key -> new LongAdder()).add(elapsed - childNanos[0]);
+        }
+    }
+
+    /**
+     * Marks that the first API request is about to be sent; later calls are ignored
+     */
+    public static void markFirstRequest() {
+        if (firstRequestMillis.get() == 0 && firstRequestMillis.compareAndSet(0, System.currentTimeMillis())) {
+            nanosBeforeFirstRequest.set(phaseNanos.values().stream().mapToLong(LongAdder::sum).sum());
+        }
+    }
+
+    /**
+     * Formats the breakdown of the time to the first request
+     * Phases that also ran after the first request are included with their total time
+     * @return Text report, or a note when no request was sent yet
+     */
+    public static String report() {
+        long first = firstRequestMillis.get();
+        if (first == 0) {
+            return "No API request was sent" + System.lineSeparator();
+        }
+        double totalMillis = first - ManagementFactory.getRuntimeMXBean().getStartTime();
+        double attributedMillis = nanosBeforeFirstRequest.get() / 1_000_000.0;
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "Time from JVM start to first API request: %.0f ms%n", totalMillis));
+        text.append(String.format(Locale.ROOT, "  %-36s %10.1f ms%n", "unattributed (JVM, class loading, runner)",
+                Math.max(0, totalMillis - attributedMillis)));
+        phaseNanos.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                        (a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(phase -> text.append(String.format(Locale.ROOT, "  %-36s %10.1f ms%n",
+                        phase.getKey(), phase.getValue().sum() / 1_000_000.0)));
+        return text.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.wompi.automation.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.Builder;
@@ -31,6 +32,10 @@ public class NequiPaymentRequest {
     @JsonProperty("customer_data")
     private CustomerData customerData;
 
+    @JsonProperty("signature")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String signature;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.wompi.automation.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.Builder;
@@ -37,6 +38,10 @@ public class PSEPaymentRequest {
     @JsonProperty("customer_data")
     private CustomerData customerData;
     
+    @JsonProperty("signature")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String signature;
+    
     @Data
     @Builder
     @NoArgsConstructor
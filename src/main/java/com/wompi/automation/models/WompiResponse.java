@@ -1,5 +1,6 @@
 package com.wompi.automation.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,8 +9,10 @@ import lombok.AllArgsConstructor;
 /**
  * Data model for Wompi API response
  * Represents the structure of responses from Wompi API
+ * Unknown fields are ignored so additions to the API do not break deserialization
  */
 @Data
+@JsonIgnoreProperties(ignoreUnknown = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class WompiResponse {
@@ -23,6 +26,7 @@ public class WompiResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class TransactionData {
         @JsonProperty("id")
         private String id;
@@ -85,6 +89,7 @@ public class WompiResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class PaymentMethodData {
         @JsonProperty("type")
         private String type;
@@ -111,6 +116,7 @@ public class WompiResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class PSEData {
         @JsonProperty("bin")
         private String bin;
@@ -131,6 +137,7 @@ public class WompiResponse {
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class MetaData {
         @JsonProperty("platform_id")
         private String platformId;
@@ -0,0 +1,26 @@
+package com.wompi.automation.pages;
+
+/**
+ * Raised when the Wompi API answers with a non-successful status code
+ */
+public class WompiApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public WompiApiException(int statusCode, String responseBody) {
+        super("Wompi API returned status " + statusCode + ": " + responseBody);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
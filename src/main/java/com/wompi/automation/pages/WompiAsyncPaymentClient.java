@@ -0,0 +1,116 @@
+package com.wompi.automation.pages;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.signature.IntegritySigner;
+import com.wompi.automation.utils.JsonUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for the Wompi Payment API
+ * Built on java.net.http.HttpClient with HTTP/2, so many requests share a few multiplexed
+ * connections and no thread waits for a response. Instances are thread-safe and meant to be shared.
+ * Payment requests are signed like in {@link WompiPaymentPage} when an integrity key is configured
+ */
+public class WompiAsyncPaymentClient implements AutoCloseable {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration requestTimeout;
+    private final IntegritySigner signer;
+
+    public WompiAsyncPaymentClient() {
+        this(ConfigManager.getInstance().getUatPrincipalUrl());
+    }
+
+    /**
+     * Creates an async client pointing at a specific API base URL
+     * @param baseUrl The API base URL, for example a local stub server
+     */
+    public WompiAsyncPaymentClient(String baseUrl) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.requestTimeout = Duration.ofMillis(config.getApiTimeout());
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.authorization = "Bearer " + config.getPrivateKey();
+        this.signer = IntegritySigner.shared();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * Creates a PSE payment transaction
+     * @param paymentRequest The PSE payment request data
+     * @return Future completed with the created transaction, or with a WompiApiException
+     */
+    public CompletableFuture<WompiResponse> createPSEPaymentAsync(PSEPaymentRequest paymentRequest) {
+        if (signer.isEnabled()) {
+            paymentRequest.setSignature(signer.sign(paymentRequest.getReference(), paymentRequest.getAmountInCents(),
+                    paymentRequest.getCurrency()));
+        }
+        return post(paymentRequest);
+    }
+
+    /**
+     * Creates a Nequi payment transaction
+     * @param paymentRequest The Nequi payment request data
+     * @return Future completed with the created transaction, or with a WompiApiException
+     */
+    public CompletableFuture<WompiResponse> createNequiPaymentAsync(NequiPaymentRequest paymentRequest) {
+        if (signer.isEnabled()) {
+            paymentRequest.setSignature(signer.sign(paymentRequest.getReference(), paymentRequest.getAmountInCents(),
+                    paymentRequest.getCurrency()));
+        }
+        return post(paymentRequest);
+    }
+
+    /**
+     * Gets transaction status by ID
+     * @param transactionId The transaction ID
+     * @return Future completed with the transaction, or with a WompiApiException
+     */
+    public CompletableFuture<WompiResponse> getTransactionStatusAsync(String transactionId) {
+        return send(newRequest("/transactions/" + transactionId).GET().build());
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private CompletableFuture<WompiResponse> post(Object body) {
+        return send(newRequest("/transactions")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JsonUtils.toJsonBytes(body)))
+                .build());
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+    }
+
+    private CompletableFuture<WompiResponse> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    int statusCode = response.statusCode();
+                    if (statusCode < 200 || statusCode >= 300) {
+                        throw new WompiApiException(statusCode, new String(response.body(), StandardCharsets.UTF_8));
+                    }
+                    return JsonUtils.fromJson(response.body(), WompiResponse.class);
+                });
+    }
+}
@@ -1,9 +1,20 @@
 package com.wompi.automation.pages;
 
+import com.wompi.automation.builders.ReferenceGenerator;
+import com.wompi.automation.cache.TransactionStatusCache;
+import com.wompi.automation.cassette.Cassette;
 import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.http.PooledHttpClient;
+import com.wompi.automation.metrics.LatencyFilter;
+import com.wompi.automation.metrics.LatencyRecorder;
+import com.wompi.automation.metrics.StartupTimer;
 import com.wompi.automation.models.NequiPaymentRequest;
 import com.wompi.automation.models.PSEPaymentRequest;
+import com.wompi.automation.ratelimit.TransactionRateLimiter;
+import com.wompi.automation.resilience.ResilienceExecutor;
+import com.wompi.automation.signature.IntegritySigner;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
@@ -11,75 +22,245 @@ import io.restassured.specification.RequestSpecification;
 /**
  * Page Object for Wompi Payment API
  * Encapsulates all payment-related API interactions
+ * Instances are immutable: every call starts a fresh request from a shared base specification,
+ * so one page can be used concurrently by any number of scenarios and load workers.
+ * The base specification is built on the first request, so pages that are only copied never load RestAssured.
+ * Every call sent to the API is timed into the shared {@link LatencyRecorder}, and payment creation
+ * goes through a {@link ResilienceExecutor} that retries transient failures without duplicating transactions.
+ * Payment requests are signed by the shared {@link IntegritySigner} when an integrity key is configured
  */
 public class WompiPaymentPage {
     
     private final ConfigManager config;
-    private final RequestSpecification requestSpec;
+    private final String baseUrl;
+    private final PooledHttpClient httpClient;
+    private volatile RequestSpecification baseSpec;
+    private final String privateKey;
+    private final TransactionStatusCache statusCache;
+    private final Cassette cassette;
+    private final ResilienceExecutor resilience;
+    private final IntegritySigner signer;
     
     public WompiPaymentPage() {
+        this(ConfigManager.getInstance().getUatPrincipalUrl());
+    }
+    
+    /**
+     * Creates a payment page pointing at a specific API base URL
+     * @param baseUrl The API base URL, for example a local stub server
+     */
+    public WompiPaymentPage(String baseUrl) {
+        this(baseUrl, PooledHttpClient.shared());
+    }
+    
+    /**
+     * Creates a payment page that sends its requests through a pooled HTTP client
+     * @param baseUrl The API base URL
+     * @param httpClient The pooled client whose connections are reused
+     */
+    public WompiPaymentPage(String baseUrl, PooledHttpClient httpClient) {
+        this(baseUrl, httpClient, ConfigManager.getInstance().getPrivateKey(), null, null,
+                ResilienceExecutor.shared());
+    }
+    
+    private WompiPaymentPage(String baseUrl, PooledHttpClient httpClient, String privateKey,
+                             TransactionStatusCache statusCache, Cassette cassette, ResilienceExecutor resilience) {
         this.config = ConfigManager.getInstance();
-        this.requestSpec = RestAssured.given()
-                .baseUri(config.getUatPrincipalUrl())
-                .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + config.getPrivateKey());
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+        this.privateKey = privateKey;
+        this.statusCache = statusCache;
+        this.cassette = cassette;
+        this.resilience = resilience;
+        this.signer = IntegritySigner.shared();
+    }
+    
+    /**
+     * Gets the base specification, building it on first use
+     * Two threads may both build it the first time; the specifications are equal, so either one is kept
+     * @return Base specification with the connection pool, credentials and filters
+     */
+    private RequestSpecification baseSpec() {
+        RequestSpecification spec = baseSpec;
+        if (spec == null) {
+            spec = StartupTimer.time("request specification", this::buildBaseSpec);
+            baseSpec = spec;
+        }
+        return spec;
+    }
+    
+    private RequestSpecification buildBaseSpec() {
+        RequestSpecBuilder specBuilder = new RequestSpecBuilder()
+                .setConfig(httpClient.restAssuredConfig())
+                .setBaseUri(baseUrl)
+                .setContentType(ContentType.JSON)
+                .addHeader("Authorization", "Bearer " + privateKey);
+        if (cassette != null) {
+            specBuilder.addFilter(cassette);
+        }
+        // After the cassette, so replayed answers are neither paced nor counted as API latency
+        TransactionRateLimiter rateLimiter = TransactionRateLimiter.shared();
+        if (rateLimiter.isEnabled()) {
+            specBuilder.addFilter(rateLimiter);
+        }
+        // After the rate limiter, so time spent waiting for a permit is not counted as API latency
+        specBuilder.addFilter(new LatencyFilter(LatencyRecorder.shared()));
+        return specBuilder.build();
+    }
+    
+    /**
+     * Creates a copy of this page that authenticates with another private key
+     * The copy does not use the status cache, since cached responses were authorized with the original key
+     * @param privateKey The merchant private key to send
+     * @return New page sharing the base URL and connection pool
+     */
+    public WompiPaymentPage withCredentials(String privateKey) {
+        return new WompiPaymentPage(baseUrl, httpClient, privateKey, null, cassette, resilience);
+    }
+    
+    /**
+     * Creates a copy of this page with invalid credentials for testing authentication errors
+     * @return New page that sends an invalid private key
+     */
+    public WompiPaymentPage withInvalidCredentials() {
+        return withCredentials("INVALID_TOKEN");
+    }
+    
+    /**
+     * Creates a copy of this page that serves status lookups from a cache
+     * Settled transactions are then read from the API only once
+     * @param statusCache The cache to use
+     * @return New page sharing the base URL, credentials and connection pool
+     */
+    public WompiPaymentPage withStatusCache(TransactionStatusCache statusCache) {
+        return new WompiPaymentPage(baseUrl, httpClient, privateKey, statusCache, cassette, resilience);
+    }
+    
+    /**
+     * Creates a copy of this page that records its exchanges to, or replays them from, a cassette
+     * In replay mode no request reaches the network
+     * @param cassette The cassette to use
+     * @return New page sharing the base URL, credentials, status cache and connection pool
+     */
+    public WompiPaymentPage withCassette(Cassette cassette) {
+        return new WompiPaymentPage(baseUrl, httpClient, privateKey, statusCache, cassette, resilience);
+    }
+    
+    /**
+     * Creates a copy of this page that creates payments through another resilience executor
+     * Use {@link ResilienceExecutor#NONE} to make exactly one attempt per payment
+     * @param resilience The executor for payment creation
+     * @return New page sharing the base URL, credentials, status cache, cassette and connection pool
+     */
+    public WompiPaymentPage withResilience(ResilienceExecutor resilience) {
+        return new WompiPaymentPage(baseUrl, httpClient, privateKey, statusCache, cassette, resilience);
     }
     
     /**
      * Creates a PSE payment transaction
+     * The request's signature is replaced by one computed from its current reference, amount and currency.
+     * Transient failures are retried; a retry first checks whether the reference already exists
      * @param paymentRequest The PSE payment request data
      * @return Response from the API
      */
     public Response createPSEPayment(PSEPaymentRequest paymentRequest) {
-        return requestSpec
-                .body(paymentRequest)
-                .when()
-                .post("/transactions")
-                .then()
-                .extract()
-                .response();
+        if (signer.isEnabled()) {
+            paymentRequest.setSignature(signer.sign(paymentRequest.getReference(), paymentRequest.getAmountInCents(),
+                    paymentRequest.getCurrency()));
+        }
+        return resilience.create(paymentRequest.getReference(), () -> postTransaction(paymentRequest),
+                this::fetchTransactionByReference);
     }
     /**
      * Creates a Nequi payment transaction
+     * The request's signature is replaced by one computed from its current reference, amount and currency.
+     * Transient failures are retried; a retry first checks whether the reference already exists
      * @param paymentRequest The Nequi payment request data
      * @return Response from the API
      */
     public Response createNequiPayment(NequiPaymentRequest paymentRequest) {
-        return requestSpec
+        if (signer.isEnabled()) {
+            paymentRequest.setSignature(signer.sign(paymentRequest.getReference(), paymentRequest.getAmountInCents(),
+                    paymentRequest.getCurrency()));
+        }
+        return resilience.create(paymentRequest.getReference(), () -> postTransaction(paymentRequest),
+                this::fetchTransactionByReference);
+    }
+    
+    private Response postTransaction(Object paymentRequest) {
+        return buffered(request()
                 .body(paymentRequest)
                 .when()
                 .post("/transactions")
                 .then()
                 .extract()
-                .response();
+                .response());
     }
     /**
      * Gets transaction status by ID
+     * Served from the status cache when this page has one
      * @param transactionId The transaction ID
      * @return Response containing transaction status
      */
     public Response getTransactionStatus(String transactionId) {
-        return requestSpec
+        if (statusCache != null) {
+            return statusCache.getById(transactionId, () -> fetchTransactionStatus(transactionId));
+        }
+        return fetchTransactionStatus(transactionId);
+    }
+    
+    private Response fetchTransactionStatus(String transactionId) {
+        return buffered(request()
                 .when()
                 .get("/transactions/" + transactionId)
                 .then()
                 .extract()
-                .response();
+                .response());
     }
     
     /**
      * Gets transaction status by reference
+     * Served from the status cache when this page has one
      * @param reference The transaction reference
      * @return Response containing transaction status
      */
     public Response getTransactionByReference(String reference) {
-        return requestSpec
+        if (statusCache != null) {
+            return statusCache.getByReference(reference, () -> fetchTransactionByReference(reference));
+        }
+        return fetchTransactionByReference(reference);
+    }
+    
+    private Response fetchTransactionByReference(String reference) {
+        return buffered(request()
                 .queryParam("reference", reference)
                 .when()
                 .get("/transactions")
                 .then()
                 .extract()
-                .response();
+                .response());
+    }
+    
+    /**
+     * Starts a new request from the base specification
+     * The base specification is only read, never modified, so this is safe from any thread
+     * @return Request specification for a single call
+     */
+    private RequestSpecification request() {
+        RequestSpecification request = RestAssured.given().spec(baseSpec());
+        StartupTimer.markFirstRequest();
+        return request;
+    }
+    
+    /**
+     * Reads the response body so its pooled connection is released immediately
+     * RestAssured keeps the connection leased until the body is consumed
+     * @param response The response to buffer
+     * @return The same response, with its body held in memory
+     */
+    private static Response buffered(Response response) {
+        response.asByteArray();
+        return response;
     }
     
     /**
@@ -91,7 +272,7 @@ public class WompiPaymentPage {
                 .amountInCents(Integer.parseInt(config.getTestAmount()))
                 .currency(config.getTestCurrency())
                 .customerEmail("test@example.com")
-                .reference(config.getTestReference() + "_" + System.currentTimeMillis())
+                .reference(ReferenceGenerator.shared().next(config.getTestReference() + "_"))
                 .paymentSourceId(1)
                 .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
                         .type("PSE")
@@ -118,7 +299,7 @@ public class WompiPaymentPage {
                 .amountInCents(Integer.parseInt(config.getTestAmount()))
                 .currency(config.getTestCurrency())
                 .customerEmail("test@example.com")
-                .reference(config.getTestReference() + "_INVALID_" + System.currentTimeMillis())
+                .reference(ReferenceGenerator.shared().next(config.getTestReference() + "_INVALID_"))
                 .paymentSourceId(1)
                 .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
                         .type("PSE")
@@ -145,7 +326,7 @@ public class WompiPaymentPage {
                 .amountInCents(999999999) // Very high amount
                 .currency(config.getTestCurrency())
                 .customerEmail("test@example.com")
-                .reference(config.getTestReference() + "_INSUFFICIENT_" + System.currentTimeMillis())
+                .reference(ReferenceGenerator.shared().next(config.getTestReference() + "_INSUFFICIENT_"))
                 .paymentSourceId(1)
                 .paymentMethod(PSEPaymentRequest.PaymentMethod.builder()
                         .type("PSE")
@@ -162,14 +343,4 @@ public class WompiPaymentPage {
                         .build())
                 .build();
     }
-    
-    /**
-     * Sets invalid credentials for testing authentication errors
-     */
-    public void setInvalidCredentials() {
-        RestAssured.given()
-                .baseUri(config.getUatPrincipalUrl())
-                .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer INVALID_TOKEN");
-    }
 }
@@ -0,0 +1,51 @@
+package com.wompi.automation.polling;
+
+import com.wompi.automation.config.ConfigManager;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backoff policy for transaction status polling
+ * Delays grow exponentially from initialDelay up to maxDelay, with equal jitter so that
+ * transactions created together do not poll in lockstep
+ */
+@Getter
+@Builder
+public class PollingPolicy {
+
+    @Builder.Default
+    private final Duration initialDelay = Duration.ofMillis(250);
+
+    @Builder.Default
+    private final Duration maxDelay = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private final double multiplier = 2.0;
+
+    /**
+     * Creates a policy from poller.initial.delay.ms and poller.max.delay.ms
+     * @param config The configuration to read
+     * @return Polling policy with configured or default delays
+     */
+    public static PollingPolicy fromConfig(ConfigManager config) {
+        return PollingPolicy.builder()
+                .initialDelay(Duration.ofMillis(config.getIntProperty("poller.initial.delay.ms", 250)))
+                .maxDelay(Duration.ofMillis(config.getIntProperty("poller.max.delay.ms", 5_000)))
+                .build();
+    }
+
+    /**
+     * Computes the delay before a poll attempt
+     * @param attempt Zero-based number of polls already made
+     * @return Delay in nanoseconds, between half and all of the exponential backoff
+     */
+    public long delayNanos(int attempt) {
+        double backoff = initialDelay.toNanos() * Math.pow(multiplier, attempt);
+        long capped = (long) Math.min(backoff, maxDelay.toNanos());
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.wompi.automation.polling;
+
+import com.wompi.automation.models.WompiResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of polling a transaction until it settles
+ */
+@Data
+@AllArgsConstructor
+public class TransactionPollResult {
+
+    private final String transactionId;
+
+    /** Last status observed, or null if no poll succeeded */
+    private final String status;
+
+    /** Last successful response, or null if no poll succeeded */
+    private final WompiResponse response;
+
+    private final int attempts;
+
+    /** True when the deadline passed before a terminal status was seen */
+    private final boolean timedOut;
+}
@@ -0,0 +1,176 @@
+package com.wompi.automation.polling;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.pages.WompiPaymentPage;
+import com.wompi.automation.utils.JsonUtils;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls transaction status until a terminal state or a deadline
+ * Waiting transactions hold no thread: a small scheduler pool wakes them up with exponential
+ * backoff and each status request runs on a virtual thread
+ */
+public class TransactionStatusPoller implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatusPoller.class);
+
+    /** Statuses a Wompi transaction never leaves */
+    public static final Set<String> TERMINAL_STATUSES = Set.of("APPROVED", "DECLINED", "VOIDED", "ERROR", "EXPIRED");
+
+    /** Only the status is read while polling; the full model is bound once, for the last response */
+    private static final ResponseFieldExtractor STATUS_FIELD = ResponseFieldExtractor.of("data.status");
+
+    private static volatile TransactionStatusPoller shared;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService requestExecutor;
+    private final PollingPolicy policy;
+
+    /**
+     * Creates a poller
+     * @param schedulerThreads Number of threads that schedule polls
+     * @param policy Backoff policy between polls
+     */
+    public TransactionStatusPoller(int schedulerThreads, PollingPolicy policy) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "transaction-poller-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the poller shared by all scenarios
+     * Sized by poller.scheduler.threads and tuned by the poller.* delay properties
+     * @return Shared poller instance
+     */
+    public static TransactionStatusPoller shared() {
+        TransactionStatusPoller current = shared;
+        if (current == null) {
+            synchronized (TransactionStatusPoller.class) {
+                current = shared;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    current = new TransactionStatusPoller(
+                            config.getIntProperty("poller.scheduler.threads", 2), PollingPolicy.fromConfig(config));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether a status is final
+     * @param status The transaction status
+     * @return true if the transaction will not change anymore
+     */
+    public static boolean isTerminal(String status) {
+        return status != null && TERMINAL_STATUSES.contains(status);
+    }
+
+    /**
+     * Polls a transaction until it reaches a terminal status or the timeout elapses
+     * The first poll is sent immediately
+     * @param paymentPage The page used to query the transaction
+     * @param transactionId The transaction ID
+     * @param timeout Maximum time to wait
+     * @return Future completed with the last observed status
+     */
+    public CompletableFuture<TransactionPollResult> await(WompiPaymentPage paymentPage, String transactionId,
+                                                          Duration timeout) {
+        PollTask task = new PollTask(paymentPage, transactionId, System.nanoTime() + timeout.toNanos());
+        requestExecutor.execute(task::poll);
+        return task.future;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    /**
+     * State of a single polled transaction
+     */
+    private class PollTask {
+        private final WompiPaymentPage paymentPage;
+        private final String transactionId;
+        private final long deadline;
+        private final CompletableFuture<TransactionPollResult> future = new CompletableFuture<>();
+        private int attempts;
+        private String lastStatus;
+        private byte[] lastBody;
+
+        PollTask(WompiPaymentPage paymentPage, String transactionId, long deadline) {
+            this.paymentPage = paymentPage;
+            this.transactionId = transactionId;
+            this.deadline = deadline;
+        }
+
+        void poll() {
+            if (future.isDone()) {
+                return;
+            }
+            attempts++;
+            try {
+                Response response = paymentPage.getTransactionStatus(transactionId);
+                int statusCode = response.getStatusCode();
+                if (statusCode >= 200 && statusCode < 300) {
+                    byte[] body = response.asByteArray();
+                    lastStatus = ResponseFieldExtractor.asText(STATUS_FIELD.extract(body).get("data.status"));
+                    lastBody = body;
+                    if (isTerminal(lastStatus)) {
+                        complete(false);
+                        return;
+                    }
+                } else if (statusCode >= 400 && statusCode < 500 && statusCode != 404 && statusCode != 429) {
+                    future.completeExceptionally(new IllegalStateException(
+                            "Polling transaction " + transactionId + " failed with status " + statusCode));
+                    return;
+                }
+            } catch (Exception e) {
+                logger.debug("Status poll for transaction {} failed", transactionId, e);
+            }
+            scheduleNext();
+        }
+
+        private void scheduleNext() {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                complete(true);
+                return;
+            }
+            long delay = Math.min(policy.delayNanos(attempts - 1), remaining);
+            scheduler.schedule(() -> requestExecutor.execute(this::poll), delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void complete(boolean timedOut) {
+            WompiResponse lastResponse = null;
+            if (lastBody != null) {
+                try {
+                    lastResponse = JsonUtils.fromJson(lastBody, WompiResponse.class);
+                } catch (RuntimeException e) {
+                    logger.debug("Could not bind last status response for transaction {}", transactionId, e);
+                }
+            }
+            future.complete(new TransactionPollResult(transactionId, lastStatus, lastResponse, attempts, timedOut));
+        }
+    }
+}
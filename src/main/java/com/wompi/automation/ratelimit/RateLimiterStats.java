@@ -0,0 +1,34 @@
+package com.wompi.automation.ratelimit;
+
+import java.util.Locale;
+
+/**
+ * Permits handed out by a {@link TokenBucket} and the time callers waited for them
+ *
+ * @param permits Permits handed out
+ * @param delayed Permits the caller had to wait for
+ * @param totalWaitNanos Sum of all waits
+ * @param maxWaitNanos Longest single wait
+ */
+public record RateLimiterStats(
+        double permitsPerSecond,
+        int burst,
+        long permits,
+        long delayed,
+        long totalWaitNanos,
+        long maxWaitNanos) {
+
+    /**
+     * Gets the mean wait over all permits, including those that did not wait
+     * @return Mean wait in milliseconds
+     */
+    public double getMeanWaitMillis() {
+        return permits == 0 ? 0 : totalWaitNanos / 1_000_000.0 / permits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.1f/s (burst %d): %d permit(s), %d delayed, mean wait %.2f ms, max wait %.2f ms",
+                permitsPerSecond, burst, permits, delayed, getMeanWaitMillis(), maxWaitNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.wompi.automation.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm
+ * The whole bucket is one timestamp, the theoretical arrival time of the next permit, advanced with
+ * compare-and-set. A caller that has to wait reserves its slot first and then sleeps outside any lock,
+ * so virtual threads unmount while they wait and callers are served in reservation order
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder permits = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a full bucket
+     * @param permitsPerSecond Sustained rate
+     * @param burst Permits that can be taken at once after an idle period
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least 1, was "
+                    + permitsPerSecond + "/s with burst " + burst);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000.0 / permitsPerSecond));
+        this.toleranceNanos = (burst - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a permit if one is available now, without waiting
+     * @return true if a permit was taken
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            if (arrival - toleranceNanos - now > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, later(arrival, now) + intervalNanos)) {
+                permits.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves the next permit without waiting for it
+     * @param maxWait Longest acceptable wait; nothing is reserved if the permit comes later
+     * @return Nanoseconds until the reserved permit may be used, or -1 if it would come after maxWait
+     */
+    public long reserve(Duration maxWait) {
+        long maxWaitNanos = maxWait.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long wait = Math.max(0, arrival - toleranceNanos - now);
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, later(arrival, now) + intervalNanos)) {
+                permits.increment();
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit, sleeping until it is available
+     * @param maxWait Longest time to wait
+     * @return true if a permit was taken, false if it would have come after maxWait
+     */
+    public boolean acquire(Duration maxWait) {
+        long wait = reserve(maxWait);
+        if (wait < 0) {
+            return false;
+        }
+        if (wait > 0) {
+            delayed.increment();
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            try {
+                Thread.sleep(Duration.ofNanos(wait));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a rate limit permit", e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets how many permits were handed out and how long callers waited for them
+     * @return Statistics since the bucket was created
+     */
+    public RateLimiterStats stats() {
+        return new RateLimiterStats(permitsPerSecond, burst, permits.sum(), delayed.sum(),
+                totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    private static long later(long first, long second) {
+        return first - second > 0 ? first : second;
+    }
+}
@@ -0,0 +1,120 @@
+package com.wompi.automation.ratelimit;
+
+import com.wompi.automation.config.ConfigManager;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Duration;
+
+/**
+ * RestAssured filter that paces /transactions calls with separate budgets for creation and lookups
+ * POST calls take permits from one {@link TokenBucket} and GET calls from another, so status polling
+ * cannot starve payment creation of the rate the sandbox allows. A method without a budget is not limited
+ */
+public class TransactionRateLimiter implements Filter {
+
+    static final String TRANSACTIONS_PATH = "/transactions";
+
+    private static volatile TransactionRateLimiter shared;
+
+    private final TokenBucket postBucket;
+    private final TokenBucket getBucket;
+    private final Duration maxWait;
+
+    /**
+     * Creates a limiter
+     * @param postBucket Budget for POST /transactions, or null for no limit
+     * @param getBucket Budget for GET /transactions and GET /transactions/{id}, or null for no limit
+     * @param maxWait Longest a call waits for a permit before failing
+     */
+    public TransactionRateLimiter(TokenBucket postBucket, TokenBucket getBucket, Duration maxWait) {
+        this.postBucket = postBucket;
+        this.getBucket = getBucket;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Gets the limiter shared by every payment page in the JVM, so all workers draw from the same budgets
+     * Configured by rate.limit.post.per.second, rate.limit.get.per.second, rate.limit.burst and
+     * rate.limit.max.wait.ms; a rate of 0, the default, disables that budget
+     * @return Shared limiter
+     */
+    public static TransactionRateLimiter shared() {
+        TransactionRateLimiter current = shared;
+        if (current == null) {
+            synchronized (TransactionRateLimiter.class) {
+                current = shared;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    int burst = config.getIntProperty("rate.limit.burst", 1);
+                    current = new TransactionRateLimiter(
+                            bucket(config.getIntProperty("rate.limit.post.per.second", 0), burst),
+                            bucket(config.getIntProperty("rate.limit.get.per.second", 0), burst),
+                            Duration.ofMillis(config.getIntProperty("rate.limit.max.wait.ms", 30_000)));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        TokenBucket bucket = bucketFor(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        if (bucket != null && !bucket.acquire(maxWait)) {
+            throw new RuntimeException("No rate limit permit for " + requestSpec.getMethod() + " "
+                    + requestSpec.getUserDefinedPath() + " within " + maxWait.toMillis() + " ms");
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    /**
+     * Checks whether any budget is configured
+     * @return true if POST or GET calls are limited
+     */
+    public boolean isEnabled() {
+        return postBucket != null || getBucket != null;
+    }
+
+    /**
+     * Gets the statistics of the POST budget
+     * @return Statistics, or null when POST calls are not limited
+     */
+    public RateLimiterStats getPostStats() {
+        return postBucket == null ? null : postBucket.stats();
+    }
+
+    /**
+     * Gets the statistics of the GET budget
+     * @return Statistics, or null when GET calls are not limited
+     */
+    public RateLimiterStats getGetStats() {
+        return getBucket == null ? null : getBucket.stats();
+    }
+
+    @Override
+    public String toString() {
+        return "POST " + TRANSACTIONS_PATH + " " + (postBucket == null ? "unlimited" : postBucket.stats())
+                + System.lineSeparator()
+                + "GET " + TRANSACTIONS_PATH + " " + (getBucket == null ? "unlimited" : getBucket.stats());
+    }
+
+    private TokenBucket bucketFor(String method, String path) {
+        if (!path.startsWith(TRANSACTIONS_PATH)) {
+            return null;
+        }
+        return switch (method) {
+            case "POST" -> postBucket;
+            case "GET" -> getBucket;
+            default -> null;
+        };
+    }
+
+    private static TokenBucket bucket(int permitsPerSecond, int burst) {
+        return permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, burst) : null;
+    }
+}
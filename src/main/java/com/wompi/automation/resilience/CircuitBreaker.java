@@ -0,0 +1,131 @@
+package com.wompi.automation.resilience;
+
+import com.wompi.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker that fails fast while the API keeps failing
+ * After failureThreshold consecutive failures the circuit opens and calls are rejected for openDuration;
+ * then a single trial call is let through, which closes the circuit on success or opens it again on failure.
+ * State lives in one immutable snapshot swapped with compare-and-set, so callers never block
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static volatile CircuitBreaker shared;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.CLOSED);
+
+    /**
+     * Creates a closed circuit breaker
+     * @param failureThreshold Consecutive failures that open the circuit
+     * @param openDuration How long the circuit stays open before a trial call
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Circuit failure threshold must be at least 1, was " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Gets the circuit breaker shared by every payment page in the JVM
+     * Configured by circuit.failure.threshold and circuit.open.ms
+     * @return Shared circuit breaker
+     */
+    public static CircuitBreaker shared() {
+        CircuitBreaker current = shared;
+        if (current == null) {
+            synchronized (CircuitBreaker.class) {
+                current = shared;
+                if (current == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    current = new CircuitBreaker(
+                            config.getIntProperty("circuit.failure.threshold", 5),
+                            Duration.ofMillis(config.getIntProperty("circuit.open.ms", 10_000)));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether a call may be made
+     * Every permitted call must be followed by {@link #onSuccess()} or {@link #onFailure()}
+     * @throws CircuitOpenException If the circuit is open or a trial call is already in flight
+     */
+    public void acquirePermission() {
+        while (true) {
+            Snapshot current = state.get();
+            if (current.state == CircuitState.CLOSED) {
+                return;
+            }
+            long now = System.nanoTime();
+            long remaining = current.sinceNanos + openNanos - now;
+            if (remaining > 0) {
+                throw new CircuitOpenException(Duration.ofNanos(current.state == CircuitState.OPEN ? remaining : 0));
+            }
+            // Open period over, or a trial call never reported back: let one caller through as the trial
+            if (state.compareAndSet(current, new Snapshot(CircuitState.HALF_OPEN, 0, now))) {
+                logger.info("Circuit breaker half-open, sending a trial call");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records a successful call, closing the circuit
+     */
+    public void onSuccess() {
+        Snapshot current = state.get();
+        if (current != Snapshot.CLOSED && state.compareAndSet(current, Snapshot.CLOSED)
+                && current.state != CircuitState.CLOSED) {
+            logger.info("Circuit breaker closed");
+        }
+    }
+
+    /**
+     * Records a failed call, opening the circuit once the threshold is reached
+     */
+    public void onFailure() {
+        while (true) {
+            Snapshot current = state.get();
+            Snapshot next;
+            if (current.state == CircuitState.OPEN) {
+                return;
+            } else if (current.state == CircuitState.HALF_OPEN || current.failures + 1 >= failureThreshold) {
+                next = new Snapshot(CircuitState.OPEN, current.failures + 1, System.nanoTime());
+            } else {
+                next = new Snapshot(CircuitState.CLOSED, current.failures + 1, 0);
+            }
+            if (state.compareAndSet(current, next)) {
+                if (next.state == CircuitState.OPEN) {
+                    logger.warn("Circuit breaker opened after {} consecutive failure(s)", next.failures);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the current state
+     * An open circuit whose open period has passed still reports OPEN until the next call
+     * @return Circuit state
+     */
+    public CircuitState getState() {
+        return state.get().state;
+    }
+
+    private record Snapshot(CircuitState state, int failures, long sinceNanos) {
+        static final Snapshot CLOSED = new Snapshot(CircuitState.CLOSED, 0, 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.wompi.automation.resilience;
+
+import java.time.Duration;
+
+/**
+ * Raised instead of calling the API while the circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public CircuitOpenException(Duration retryAfter) {
+        super("Circuit breaker is open after repeated API failures; next trial call in " + retryAfter.toMillis() + " ms");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
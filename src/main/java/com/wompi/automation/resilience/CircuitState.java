@@ -0,0 +1,13 @@
+package com.wompi.automation.resilience;
+
+/**
+ * States of a {@link CircuitBreaker}
+ */
+public enum CircuitState {
+    /** Calls go through and failures are counted */
+    CLOSED,
+    /** Calls fail fast until the open period ends */
+    OPEN,
+    /** One trial call decides whether the circuit closes or opens again */
+    HALF_OPEN
+}
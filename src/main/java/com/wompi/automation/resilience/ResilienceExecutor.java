@@ -0,0 +1,184 @@
+package com.wompi.automation.resilience;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.utils.ResponseFieldExtractor;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs payment creation with retries, an idempotency check and a circuit breaker
+ * Retryable statuses and connection errors are retried with jittered backoff. Before each retry the
+ * transaction is looked up by its reference: if an earlier attempt reached the API after all, that
+ * transaction is returned instead of posting again, so one checkout never creates two transactions
+ */
+public class ResilienceExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceExecutor.class);
+    private static final ResponseFieldExtractor FIRST_TRANSACTION = ResponseFieldExtractor.of("data.0");
+
+    /** Makes a single attempt without a circuit breaker */
+    public static final ResilienceExecutor NONE = new ResilienceExecutor(RetryPolicy.NONE, null);
+
+    private static volatile ResilienceExecutor shared;
+
+    private final RetryPolicy policy;
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Creates an executor
+     * @param policy When and how often to retry
+     * @param circuitBreaker Circuit breaker guarding every attempt, or null for none
+     */
+    public ResilienceExecutor(RetryPolicy policy, CircuitBreaker circuitBreaker) {
+        this.policy = policy;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Gets the executor shared by every payment page in the JVM
+     * Uses {@link RetryPolicy#fromConfig} and {@link CircuitBreaker#shared()}
+     * @return Shared executor
+     */
+    public static ResilienceExecutor shared() {
+        ResilienceExecutor current = shared;
+        if (current == null) {
+            synchronized (ResilienceExecutor.class) {
+                current = shared;
+                if (current == null) {
+                    current = new ResilienceExecutor(RetryPolicy.fromConfig(ConfigManager.getInstance()),
+                            CircuitBreaker.shared());
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Creates a transaction
+     * @param reference The transaction reference used for the idempotency check, or null to skip it
+     * @param create Sends the creation request once
+     * @param lookupByReference Looks transactions up by reference, bypassing any cache
+     * @return Response of the last attempt, or a 201 response holding the transaction an earlier attempt created
+     * @throws CircuitOpenException If the circuit breaker rejects an attempt
+     */
+    public Response create(String reference, Supplier<Response> create, Function<String, Response> lookupByReference) {
+        Response last = null;
+        Throwable lastError = null;
+        for (int attempt = 0; attempt < policy.getMaxAttempts(); attempt++) {
+            if (attempt > 0) {
+                pause(retryDelayNanos(attempt - 1, last));
+                if (reference != null) {
+                    Response existing = findCreated(reference, lookupByReference);
+                    if (existing != null) {
+                        logger.info("Transaction {} was created by an earlier attempt, not posting it again", reference);
+                        return existing;
+                    }
+                }
+            }
+            try {
+                last = guarded(create);
+                lastError = null;
+            } catch (Throwable e) {
+                if (!(e instanceof IOException)) {
+                    throw e;
+                }
+                last = null;
+                lastError = e;
+                logger.debug("Attempt {} to create transaction {} failed", attempt + 1, reference, e);
+                continue;
+            }
+            if (!policy.isRetryable(last.getStatusCode())) {
+                return last;
+            }
+            logger.debug("Attempt {} to create transaction {} returned {}", attempt + 1, reference,
+                    last.getStatusCode());
+        }
+        if (last != null) {
+            return last;
+        }
+        throw new RuntimeException("Could not create transaction " + reference + " after "
+                + policy.getMaxAttempts() + " attempt(s)", lastError);
+    }
+
+    private Response guarded(Supplier<Response> call) {
+        if (circuitBreaker == null) {
+            return call.get();
+        }
+        circuitBreaker.acquirePermission();
+        Response response;
+        try {
+            response = call.get();
+        } catch (Throwable e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+        if (response.getStatusCode() >= 500) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        return response;
+    }
+
+    /**
+     * Looks for a transaction an earlier attempt may have created
+     * A failed lookup counts as not found; the API rejects duplicate references as a last line of defence
+     */
+    private static Response findCreated(String reference, Function<String, Response> lookupByReference) {
+        try {
+            Response found = lookupByReference.apply(reference);
+            if (found.getStatusCode() != 200) {
+                return null;
+            }
+            JsonNode transaction = FIRST_TRANSACTION.extract(found).get("data.0");
+            if (transaction == null || !transaction.isObject()) {
+                return null;
+            }
+            return new ResponseBuilder()
+                    .setStatusCode(201)
+                    .setStatusLine("HTTP/1.1 201 Created")
+                    .setContentType(ContentType.JSON)
+                    .setBody("{\"data\":" + transaction + "}")
+                    .build();
+        } catch (Exception e) {
+            logger.debug("Idempotency lookup for transaction {} failed", reference, e);
+            return null;
+        }
+    }
+
+    /**
+     * Uses the server's Retry-After header when it asks for longer than the backoff, up to the maximum delay
+     */
+    private long retryDelayNanos(int retry, Response last) {
+        long delay = policy.delayNanos(retry);
+        String retryAfter = last == null ? null : last.getHeader("Retry-After");
+        if (retryAfter != null) {
+            try {
+                long requested = Duration.ofSeconds(Long.parseLong(retryAfter.trim())).toNanos();
+                delay = Math.min(Math.max(delay, requested), policy.getMaxDelay().toNanos());
+            } catch (NumberFormatException e) {
+                // An HTTP date; keep the backoff
+            }
+        }
+        return delay;
+    }
+
+    private static void pause(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.wompi.automation.resilience;
+
+import com.wompi.automation.config.ConfigManager;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for payment creation
+ * Retryable statuses and connection errors are retried with exponential backoff and equal jitter,
+ * so workers that failed together do not retry in lockstep
+ */
+@Getter
+@Builder
+public class RetryPolicy {
+
+    /** Makes a single attempt */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+    @Builder.Default
+    private final int maxAttempts = 3;
+
+    @Builder.Default
+    private final Duration initialDelay = Duration.ofMillis(200);
+
+    @Builder.Default
+    private final Duration maxDelay = Duration.ofSeconds(2);
+
+    @Builder.Default
+    private final double multiplier = 2.0;
+
+    @Builder.Default
+    private final Set<Integer> retryableStatuses = Set.of(429, 500, 502, 503, 504);
+
+    /**
+     * Creates a policy from retry.max.attempts, retry.initial.delay.ms and retry.max.delay.ms
+     * @param config The configuration to read
+     * @return Retry policy with configured or default values
+     */
+    public static RetryPolicy fromConfig(ConfigManager config) {
+        return RetryPolicy.builder()
+                .maxAttempts(Math.max(1, config.getIntProperty("retry.max.attempts", 3)))
+                .initialDelay(Duration.ofMillis(config.getIntProperty("retry.initial.delay.ms", 200)))
+                .maxDelay(Duration.ofMillis(config.getIntProperty("retry.max.delay.ms", 2_000)))
+                .build();
+    }
+
+    /**
+     * Checks whether a response status is worth retrying
+     * @param statusCode HTTP status code
+     * @return true for throttling and transient server errors
+     */
+    public boolean isRetryable(int statusCode) {
+        return retryableStatuses.contains(statusCode);
+    }
+
+    /**
+     * Computes the delay before a retry
+     * @param retry Zero-based number of retries already made
+     * @return Delay in nanoseconds, between half and all of the exponential backoff
+     */
+    public long delayNanos(int retry) {
+        double backoff = initialDelay.toNanos() * Math.pow(multiplier, retry);
+        long capped = (long) Math.min(backoff, maxDelay.toNanos());
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.wompi.automation.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wompi.automation.utils.JsonUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of sharded runs into one set of reports
+ * Each input is the target directory of one shard. Cucumber JSON features that ran on several shards are
+ * joined into one feature, JUnit XML test cases are gathered into one suite with summed counters, and the
+ * Allure result files, which already have unique names, are copied into one results directory.
+ * Reads shard.merge.inputs (comma separated directories) and shard.merge.output (defaults to target/merged-reports)
+ */
+public final class ShardReportMerger {
+
+    static final String CUCUMBER_JSON = "cucumber-reports/json-report/Cucumber.json";
+    static final String CUCUMBER_XML = "cucumber-reports/xml-report/Cucumber.xml";
+    static final String ALLURE_RESULTS = "allure-results";
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) {
+        String inputs = System.getProperty("shard.merge.inputs");
+        if (inputs == null || inputs.isBlank()) {
+            throw new IllegalArgumentException("Set shard.merge.inputs to the comma separated target directories of the shards");
+        }
+        List<Path> shards = Arrays.stream(inputs.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .map(Path::of).toList();
+        Path output = Path.of(System.getProperty("shard.merge.output", "target/merged-reports"));
+        System.out.println(merge(shards, output));
+    }
+
+    /**
+     * Merges the reports of every shard
+     * A report type that no shard produced is skipped
+     * @param shards Target directory of each shard
+     * @param output Directory that receives the merged reports, in the same layout as a shard
+     * @return Summary of what was merged
+     */
+    public static String merge(List<Path> shards, Path output) {
+        for (Path shard : shards) {
+            if (!Files.isDirectory(shard)) {
+                throw new IllegalArgumentException("Shard report directory not found: " + shard);
+            }
+        }
+        try {
+            int features = mergeCucumberJson(existing(shards, CUCUMBER_JSON), output.resolve(CUCUMBER_JSON));
+            int testCases = mergeJUnitXml(existing(shards, CUCUMBER_XML), output.resolve(CUCUMBER_XML));
+            int allureFiles = copyAllureResults(existing(shards, ALLURE_RESULTS), output.resolve(ALLURE_RESULTS));
+            return String.format(Locale.ROOT, "Merged %d shard(s) into %s: %d feature(s), %d test case(s), %d Allure file(s)",
+                    shards.size(), output, features, testCases, allureFiles);
+        } catch (Exception e) {
+            throw new RuntimeException("Error merging shard reports into " + output, e);
+        }
+    }
+
+    /**
+     * Joins Cucumber JSON reports, merging the scenarios of features that appear in several shards
+     * Scenarios are ordered by line, each one keeping the background element that precedes it
+     * @return Number of features written
+     */
+    static int mergeCucumberJson(List<Path> reports, Path target) throws IOException {
+        if (reports.isEmpty()) {
+            return 0;
+        }
+        Map<String, ObjectNode> featuresByUri = new LinkedHashMap<>();
+        Map<String, List<List<JsonNode>>> scenariosByUri = new LinkedHashMap<>();
+        for (Path report : reports) {
+            byte[] json = Files.readAllBytes(report);
+            if (json.length == 0) {
+                continue; // An aborted shard leaves an empty file
+            }
+            JsonNode features = JsonUtils.fromJson(json, JsonNode.class);
+            if (features == null || !features.isArray()) {
+                continue;
+            }
+            for (JsonNode feature : features) {
+                String uri = feature.path("uri").asText();
+                featuresByUri.computeIfAbsent(uri, key -> ((ObjectNode) feature).deepCopy());
+                List<List<JsonNode>> scenarios = scenariosByUri.computeIfAbsent(uri, key -> new ArrayList<>());
+                List<JsonNode> pending = new ArrayList<>();
+                for (JsonNode element : feature.path("elements")) {
+                    pending.add(element);
+                    if (!"background".equals(element.path("type").asText())) {
+                        scenarios.add(pending);
+                        pending = new ArrayList<>();
+                    }
+                }
+            }
+        }
+        ArrayNode merged = JsonNodeFactory.instance.arrayNode();
+        featuresByUri.forEach((uri, feature) -> {
+            List<List<JsonNode>> scenarios = scenariosByUri.get(uri);
+            scenarios.sort(Comparator.comparingInt(scenario -> scenario.get(scenario.size() - 1).path("line").asInt()));
+            ArrayNode elements = feature.putArray("elements");
+            scenarios.forEach(elements::addAll);
+            merged.add(feature);
+        });
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            JsonUtils.toJson(merged, out);
+        }
+        return featuresByUri.size();
+    }
+
+    /**
+     * Gathers the test cases of JUnit XML reports into one suite and sums its counters
+     * @return Number of test cases written
+     */
+    static int mergeJUnitXml(List<Path> reports, Path target) throws Exception {
+        if (reports.isEmpty()) {
+            return 0;
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document merged = builder.newDocument();
+        Element suite = merged.createElement("testsuite");
+        merged.appendChild(suite);
+        String[] counters = {"tests", "failures", "errors", "skipped"};
+        long[] totals = new long[counters.length];
+        double time = 0;
+        int testCases = 0;
+        for (Path report : reports) {
+            Element shardSuite = builder.parse(report.toFile()).getDocumentElement();
+            if (!suite.hasAttribute("name")) {
+                suite.setAttribute("name", shardSuite.getAttribute("name"));
+            }
+            for (int i = 0; i < counters.length; i++) {
+                totals[i] += parseLong(shardSuite.getAttribute(counters[i]));
+            }
+            time += parseDouble(shardSuite.getAttribute("time"));
+            NodeList cases = shardSuite.getElementsByTagName("testcase");
+            for (int i = 0; i < cases.getLength(); i++) {
+                suite.appendChild(merged.importNode(cases.item(i), true));
+                testCases++;
+            }
+        }
+        for (int i = 0; i < counters.length; i++) {
+            suite.setAttribute(counters[i], Long.toString(totals[i]));
+        }
+        suite.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+
+        Files.createDirectories(target.getParent());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        try (OutputStream out = Files.newOutputStream(target)) {
+            transformer.transform(new DOMSource(merged), new StreamResult(out));
+        }
+        return testCases;
+    }
+
+    /**
+     * Copies Allure result files; shared files such as environment.properties are taken from the first shard
+     * @return Number of files copied
+     */
+    static int copyAllureResults(List<Path> directories, Path target) throws IOException {
+        if (directories.isEmpty()) {
+            return 0;
+        }
+        Files.createDirectories(target);
+        int copied = 0;
+        for (Path directory : directories) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    Path destination = target.resolve(file.getFileName().toString());
+                    if (!Files.exists(destination)) {
+                        Files.copy(file, destination);
+                        copied++;
+                    }
+                }
+            }
+        }
+        return copied;
+    }
+
+    private static List<Path> existing(List<Path> shards, String relativePath) {
+        return shards.stream().map(shard -> shard.resolve(relativePath)).filter(Files::exists).toList();
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isBlank() ? 0 : Long.parseLong(value.trim());
+    }
+
+    private static double parseDouble(String value) {
+        return value == null || value.isBlank() ? 0 : Double.parseDouble(value.trim().replace(",", ""));
+    }
+}
@@ -0,0 +1,140 @@
+package com.wompi.automation.sharding;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decides which scenarios a shard runs when the suite is split across JVMs or CI nodes
+ * A scenario tagged with one of the pinned tags runs on that tag's shard; every other scenario is assigned
+ * by a hash of its feature file name and line, so every node computes the same split without coordinating
+ */
+public final class ShardSelector {
+
+    static final String INDEX_PROPERTY = "shard.index";
+    static final String COUNT_PROPERTY = "shard.count";
+    static final String TAGS_PROPERTY = "shard.tags";
+
+    private final int index;
+    private final int count;
+    private final Map<String, Integer> pinnedTags;
+
+    /**
+     * Creates a selector
+     * @param index Zero-based index of this shard
+     * @param count Number of shards
+     * @param pinnedTags Shard for each pinned tag, checked in iteration order
+     */
+    public ShardSelector(int index, int count, Map<String, Integer> pinnedTags) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (count - 1)
+                    + " for " + count + " shard(s), was " + index);
+        }
+        this.index = index;
+        this.count = count;
+        this.pinnedTags = new LinkedHashMap<>(pinnedTags);
+    }
+
+    /**
+     * Creates a selector from shard.index, shard.count and shard.tags
+     * shard.tags pins tags to shards, for example @performance:0,@nequi-payment:1
+     * @return Selector; a single shard runs everything when the properties are not set
+     */
+    public static ShardSelector fromSystemProperties() {
+        int count = parseInt(COUNT_PROPERTY, System.getProperty(COUNT_PROPERTY, "1"));
+        int index = parseInt(INDEX_PROPERTY, System.getProperty(INDEX_PROPERTY, "0"));
+        return new ShardSelector(index, count, parsePinnedTags(System.getProperty(TAGS_PROPERTY, "")));
+    }
+
+    /**
+     * Checks whether the suite is split at all
+     * @return true if there is more than one shard
+     */
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Gets the shard a scenario belongs to
+     * @param featureUri URI of the scenario's feature file
+     * @param line Line of the scenario, or of the example row for scenario outlines
+     * @param tags Tags of the scenario, including inherited ones
+     * @return Zero-based shard index
+     */
+    public int shardOf(URI featureUri, int line, Collection<String> tags) {
+        for (Map.Entry<String, Integer> pinned : pinnedTags.entrySet()) {
+            if (tags.contains(pinned.getKey())) {
+                return Math.floorMod(pinned.getValue(), count);
+            }
+        }
+        return Math.floorMod(hash(fileName(featureUri) + ":" + line), count);
+    }
+
+    /**
+     * Checks whether this shard runs a scenario
+     * @param featureUri URI of the scenario's feature file
+     * @param line Line of the scenario, or of the example row for scenario outlines
+     * @param tags Tags of the scenario, including inherited ones
+     * @return true if the scenario belongs to this shard
+     */
+    public boolean accepts(URI featureUri, int line, Collection<String> tags) {
+        return shardOf(featureUri, line, tags) == index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Hashes with FNV-1a and a final avalanche, so results do not depend on the JVM or platform
+     */
+    static int hash(String key) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    /**
+     * Uses only the file name, since nodes may check the project out at different paths
+     */
+    private static String fileName(URI featureUri) {
+        String path = featureUri.getSchemeSpecificPart();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static Map<String, Integer> parsePinnedTags(String value) {
+        Map<String, Integer> pinned = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid " + TAGS_PROPERTY + " entry, expected @tag:shard: " + entry);
+            }
+            String tag = entry.substring(0, separator).trim();
+            pinned.put(tag.startsWith("@") ? tag : "@" + tag,
+                    parseInt(TAGS_PROPERTY, entry.substring(separator + 1)));
+        }
+        return pinned;
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + " value: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.wompi.automation.signature;
+
+import com.wompi.automation.config.ConfigManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Computes the Wompi integrity signature of a transaction
+ * The signature is the hex SHA-256 of reference, amount in cents, currency and integrity secret, concatenated.
+ * Each signature reuses a digest, an input buffer and a hex buffer from a small pool of workspaces indexed by
+ * thread id: a platform thread keeps finding its own workspace, and the short-lived virtual threads of a load
+ * run borrow the ones left by earlier threads instead of each creating a digest of its own
+ */
+public final class IntegritySigner {
+
+    static final int SIGNATURE_LENGTH = 64;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static volatile IntegritySigner shared;
+
+    private final byte[] secret;
+    private final AtomicReferenceArray<Workspace> workspaces;
+    private final int slotMask;
+
+    /**
+     * Creates a signer
+     * @param integrityKey Integrity secret of the merchant, or null to leave requests unsigned
+     */
+    public IntegritySigner(String integrityKey) {
+        this.secret = integrityKey == null || integrityKey.isBlank()
+                ? null : integrityKey.getBytes(StandardCharsets.UTF_8);
+        int slots = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+        this.workspaces = new AtomicReferenceArray<>(slots);
+        this.slotMask = slots - 1;
+    }
+
+    /**
+     * Gets the signer shared by the whole JVM, using the integrity.key of the configuration
+     * @return Shared signer
+     */
+    public static IntegritySigner shared() {
+        IntegritySigner current = shared;
+        if (current == null) {
+            synchronized (IntegritySigner.class) {
+                current = shared;
+                if (current == null) {
+                    current = new IntegritySigner(ConfigManager.getInstance().getIntegrityKey());
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether an integrity secret is configured
+     * @return true if requests are signed
+     */
+    public boolean isEnabled() {
+        return secret != null;
+    }
+
+    /**
+     * Computes the signature of a transaction
+     * @param reference Transaction reference
+     * @param amountInCents Amount in cents
+     * @param currency Currency code, for example COP
+     * @return Lowercase hex signature, or null when no secret is configured or a value is missing
+     */
+    public String sign(String reference, Integer amountInCents, String currency) {
+        if (secret == null || reference == null || amountInCents == null || currency == null) {
+            return null;
+        }
+        int slot = (int) Thread.currentThread().threadId() & slotMask;
+        Workspace workspace = workspaces.getAndSet(slot, null);
+        if (workspace == null) {
+            workspace = new Workspace();
+        }
+        try {
+            return workspace.sign(reference, amountInCents, currency, secret);
+        } finally {
+            // A slot filled meanwhile by another thread keeps its workspace; this one is left to the GC
+            workspaces.compareAndSet(slot, null, workspace);
+        }
+    }
+
+    /**
+     * Digest and buffers used by one signature at a time
+     */
+    private static final class Workspace {
+
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[SIGNATURE_LENGTH / 2];
+        private final byte[] hex = new byte[SIGNATURE_LENGTH];
+        private byte[] input = new byte[96];
+
+        Workspace() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        String sign(String reference, int amountInCents, String currency, byte[] secret) {
+            int length = appendText(0, reference);
+            length = appendNumber(length, amountInCents);
+            length = appendText(length, currency);
+            digest.update(input, 0, length);
+            digest.update(secret);
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Error computing integrity signature", e);
+            }
+            for (int i = 0; i < hash.length; i++) {
+                hex[2 * i] = HEX[(hash[i] >> 4) & 0x0f];
+                hex[2 * i + 1] = HEX[hash[i] & 0x0f];
+            }
+            return new String(hex, 0, hex.length, StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * Copies ASCII text byte by byte; other text, which references do not normally contain, is UTF-8 encoded
+         */
+        private int appendText(int position, String text) {
+            int length = text.length();
+            ensureCapacity(position + length * 3);
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    byte[] encoded = text.substring(i).getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(encoded, 0, input, position, encoded.length);
+                    return position + encoded.length;
+                }
+                input[position++] = (byte) c;
+            }
+            return position;
+        }
+
+        private int appendNumber(int position, int value) {
+            ensureCapacity(position + 11);
+            if (value < 0) {
+                input[position++] = '-';
+            }
+            long remaining = Math.abs((long) value);
+            int end = position + digits(remaining);
+            for (int i = end - 1; i >= position; i--) {
+                input[i] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+            return end;
+        }
+
+        private static int digits(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > input.length) {
+                byte[] larger = new byte[Math.max(capacity, input.length * 2)];
+                System.arraycopy(input, 0, larger, 0, input.length);
+                input = larger;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.wompi.automation.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.models.WompiResponse;
+
+import java.time.Instant;
+
+/**
+ * Transaction held in the stub server store
+ * Immutable; the current status is derived from the creation time, so reads never need a lock
+ */
+class StubTransaction {
+
+    private final String id;
+    private final JsonNode request;
+    private final Instant createdAt;
+    private final TransactionRules.Outcome outcome;
+
+    StubTransaction(String id, JsonNode request, Instant createdAt, TransactionRules.Outcome outcome) {
+        this.id = id;
+        this.request = request;
+        this.createdAt = createdAt;
+        this.outcome = outcome;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getReference() {
+        return request.path("reference").asText();
+    }
+
+    Instant getFinalizedAt() {
+        return createdAt.plus(outcome.after());
+    }
+
+    /**
+     * Builds the API representation of the transaction at a point in time
+     * @param now The current time
+     * @return Transaction data with PENDING or the final status
+     */
+    WompiResponse.TransactionData toData(Instant now) {
+        Instant finalizedAt = getFinalizedAt();
+        boolean settled = !now.isBefore(finalizedAt);
+        JsonNode paymentMethod = request.path("payment_method");
+
+        WompiResponse.PaymentMethodData method = new WompiResponse.PaymentMethodData();
+        method.setType(paymentMethod.path("type").asText(null));
+        method.setUserType(paymentMethod.path("user_type").asText(null));
+        method.setUserLegalId(paymentMethod.path("user_legal_id").asText(null));
+        method.setUserLegalIdType(paymentMethod.path("user_legal_id_type").asText(null));
+        method.setFinancialInstitutionCode(paymentMethod.path("financial_institution_code").asText(null));
+        method.setPaymentDescription(paymentMethod.path("payment_description").asText(null));
+
+        WompiResponse.TransactionData data = new WompiResponse.TransactionData();
+        data.setId(id);
+        data.setAmountInCents(request.path("amount_in_cents").asInt());
+        data.setReference(getReference());
+        data.setCustomerEmail(request.path("customer_email").asText(null));
+        data.setCurrency(request.path("currency").asText(null));
+        data.setPaymentMethodType(method.getType());
+        data.setPaymentMethod(method);
+        data.setPaymentSourceId(request.path("payment_source_id").isNumber()
+                ? request.path("payment_source_id").asInt() : null);
+        data.setCreatedAt(createdAt.toString());
+        data.setStatus(settled ? outcome.status() : "PENDING");
+        if (settled) {
+            data.setStatusMessage(outcome.statusMessage());
+            data.setFinalizedAt(finalizedAt.toString());
+        }
+        if ("PSE".equals(method.getType())) {
+            data.setRedirectUrl("https://sandbox.wompi.co/pse/redirect?transaction=" + id);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,93 @@
+package com.wompi.automation.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Rules that decide how stub transactions settle
+ * Every transaction starts PENDING and moves to its final status once its settle delay has passed
+ */
+@Getter
+@Builder
+public class TransactionRules {
+
+    /** Delay before an approved or declined transaction leaves PENDING */
+    @Builder.Default
+    private final Duration settleAfter = Duration.ofSeconds(1);
+
+    /** Delay before a transaction that matches the expiry rule becomes EXPIRED */
+    @Builder.Default
+    private final Duration expireAfter = Duration.ofSeconds(2);
+
+    /** PSE financial institution codes that are always declined */
+    @Builder.Default
+    private final Set<String> declinedInstitutionCodes = Set.of("9999");
+
+    /** Amounts above this value are declined for insufficient funds */
+    @Builder.Default
+    private final long maxApprovedAmountInCents = 100_000_000L;
+
+    /** Transactions whose reference contains this marker expire instead of settling */
+    @Builder.Default
+    private final String expireReferenceMarker = "TIMEOUT";
+
+    /** Nequi phone numbers must have this many digits to be approved */
+    @Builder.Default
+    private final int nequiPhoneDigits = 10;
+
+    /**
+     * Gets the default rules
+     * @return Rules with default delays and decline criteria
+     */
+    public static TransactionRules defaults() {
+        return TransactionRules.builder().build();
+    }
+
+    /**
+     * Decides the final status of a new transaction
+     * @param request The transaction creation request body
+     * @return Final status with its message
+     */
+    Outcome decide(JsonNode request) {
+        String reference = request.path("reference").asText();
+        JsonNode paymentMethod = request.path("payment_method");
+        String type = paymentMethod.path("type").asText();
+
+        if (expireReferenceMarker != null && reference.contains(expireReferenceMarker)) {
+            return new Outcome("EXPIRED", "Transaction expired before the user completed authentication", expireAfter);
+        }
+        if ("PSE".equals(type)
+                && declinedInstitutionCodes.contains(paymentMethod.path("financial_institution_code").asText())) {
+            return new Outcome("DECLINED", "Invalid financial institution", settleAfter);
+        }
+        if ("NEQUI".equals(type) && !isValidPhone(paymentMethod.path("phone_number").asText())) {
+            return new Outcome("DECLINED", "Invalid Nequi phone number", settleAfter);
+        }
+        if (request.path("amount_in_cents").asLong() > maxApprovedAmountInCents) {
+            return new Outcome("DECLINED", "Insufficient funds", settleAfter);
+        }
+        return new Outcome("APPROVED", null, settleAfter);
+    }
+
+    private boolean isValidPhone(String phone) {
+        if (phone.length() != nequiPhoneDigits) {
+            return false;
+        }
+        for (int i = 0; i < phone.length(); i++) {
+            if (!Character.isDigit(phone.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Final status of a stub transaction and when it is reached
+     */
+    record Outcome(String status, String statusMessage, Duration after) {
+    }
+}
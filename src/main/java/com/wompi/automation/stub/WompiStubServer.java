@@ -0,0 +1,312 @@
+package com.wompi.automation.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.events.EventChecksum;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.utils.JsonUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the Wompi transactions API
+ * Serves POST /transactions, GET /transactions/{id} and GET /transactions?reference= from an
+ * in-memory store, so the suite and the load tools can run without network access.
+ * Like Wompi, it can post a signed transaction.updated event to a webhook when each transaction settles
+ */
+public class WompiStubServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WompiStubServer.class);
+
+    private static final String TRANSACTIONS_PATH = "/transactions";
+    private static final int BACKLOG = 1_024;
+
+    private final String basePath;
+    private final String expectedPrivateKey;
+    private final TransactionRules rules;
+    private final Clock clock;
+    private final Map<String, StubTransaction> transactionsById = new ConcurrentHashMap<>();
+    private final Map<String, StubTransaction> transactionsByReference = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+    private URI eventsUrl;
+    private EventChecksum eventChecksum;
+    private ScheduledExecutorService eventScheduler;
+    private HttpClient eventClient;
+
+    /**
+     * Creates a stub server
+     * @param basePath Path prefix of the API, for example /v1
+     * @param expectedPrivateKey Private key accepted as Bearer token, or null to accept any token
+     * @param rules Rules deciding how transactions settle
+     */
+    public WompiStubServer(String basePath, String expectedPrivateKey, TransactionRules rules) {
+        this(basePath, expectedPrivateKey, rules, Clock.systemUTC());
+    }
+
+    WompiStubServer(String basePath, String expectedPrivateKey, TransactionRules rules, Clock clock) {
+        this.basePath = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+        this.expectedPrivateKey = expectedPrivateKey;
+        this.rules = rules;
+        this.clock = clock;
+    }
+
+    /**
+     * Sends a signed transaction.updated event to a webhook when each transaction reaches its final status
+     * Call before {@link #start(int)}
+     * @param url Webhook URL, for example that of a WebhookReceiver
+     * @param eventsKey Events secret the checksums are computed with
+     * @return This server
+     */
+    public WompiStubServer sendEventsTo(String url, String eventsKey) {
+        this.eventsUrl = URI.create(url);
+        this.eventChecksum = new EventChecksum(eventsKey);
+        return this;
+    }
+
+    /**
+     * Starts listening on the loopback interface
+     * @param port The port to bind, or 0 for an ephemeral port
+     * @return This server
+     */
+    public WompiStubServer start(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), BACKLOG);
+        } catch (IOException e) {
+            throw new RuntimeException("Error starting Wompi stub server", e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(basePath + TRANSACTIONS_PATH, this::handle);
+        if (eventsUrl != null) {
+            eventScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stub-events");
+                thread.setDaemon(true);
+                return thread;
+            });
+            eventClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+        }
+        server.start();
+        logger.info("Wompi stub server listening on {}", getBaseUrl());
+        return this;
+    }
+
+    /**
+     * Gets the URL clients should use as API base URI
+     * @return Base URL including the base path
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + basePath;
+    }
+
+    /**
+     * Gets the number of transactions created since the server started
+     * @return Transaction count
+     */
+    public int getTransactionCount() {
+        return transactionsById.size();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            if (eventScheduler != null) {
+                eventScheduler.shutdownNow();
+                eventClient.close();
+                eventScheduler = null;
+            }
+            executor.close();
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!isAuthorized(exchange)) {
+                sendError(exchange, 401, "INVALID_ACCESS_TOKEN", "Invalid or missing private key");
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().substring(basePath.length());
+            if ("POST".equals(method) && path.equals(TRANSACTIONS_PATH)) {
+                createTransaction(exchange);
+            } else if ("GET".equals(method) && path.equals(TRANSACTIONS_PATH)) {
+                findByReference(exchange);
+            } else if ("GET".equals(method) && path.startsWith(TRANSACTIONS_PATH + "/")) {
+                findById(exchange, path.substring(TRANSACTIONS_PATH.length() + 1));
+            } else {
+                sendError(exchange, 404, "NOT_FOUND_ERROR", "Unsupported route " + method + " " + path);
+            }
+        } catch (Exception e) {
+            logger.warn("Stub server failed to handle request", e);
+        }
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        return expectedPrivateKey == null || authorization.equals("Bearer " + expectedPrivateKey);
+    }
+
+    private void createTransaction(HttpExchange exchange) throws IOException {
+        JsonNode request;
+        try {
+            request = JsonUtils.fromJson(exchange.getRequestBody(), JsonNode.class);
+        } catch (RuntimeException e) {
+            sendError(exchange, 422, "INPUT_VALIDATION_ERROR", "Malformed JSON body");
+            return;
+        }
+        String missing = firstMissingField(request);
+        if (missing != null) {
+            sendError(exchange, 422, "INPUT_VALIDATION_ERROR", missing + " is required");
+            return;
+        }
+
+        Instant now = clock.instant();
+        String id = idSequence.incrementAndGet() + "-" + now.getEpochSecond() + "-stub";
+        StubTransaction transaction = new StubTransaction(id, request, now, rules.decide(request));
+        if (transactionsByReference.putIfAbsent(transaction.getReference(), transaction) != null) {
+            sendError(exchange, 422, "INPUT_VALIDATION_ERROR", "reference has already been used");
+            return;
+        }
+        transactionsById.put(id, transaction);
+        sendJson(exchange, 201, new WompiResponse(transaction.toData(now), null));
+        if (eventScheduler != null) {
+            eventScheduler.schedule(() -> sendEvent(transaction),
+                    Duration.between(now, transaction.getFinalizedAt()).toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Posts the transaction.updated event of a settled transaction, signed like Wompi signs it
+     * Delivery is not retried; a failure is only logged
+     */
+    private void sendEvent(StubTransaction transaction) {
+        Instant finalizedAt = transaction.getFinalizedAt();
+        WompiResponse.TransactionData data = transaction.toData(finalizedAt);
+        long timestamp = finalizedAt.getEpochSecond();
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", "transaction.updated");
+        event.put("data", Map.of("transaction", data));
+        event.put("environment", "test");
+        event.put("signature", Map.of(
+                "properties", List.of("transaction.id", "transaction.status", "transaction.amount_in_cents"),
+                "checksum", eventChecksum.compute(
+                        List.of(data.getId(), data.getStatus(), String.valueOf(data.getAmountInCents())), timestamp)));
+        event.put("timestamp", timestamp);
+        event.put("sent_at", clock.instant().toString());
+        HttpRequest request = HttpRequest.newBuilder(eventsUrl)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JsonUtils.toJsonBytes(event)))
+                .build();
+        eventClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        logger.warn("Stub server could not deliver the event of transaction {}: {}", data.getId(),
+                                error != null ? error.toString() : "HTTP " + response.statusCode());
+                    }
+                });
+    }
+
+    private void findById(HttpExchange exchange, String id) throws IOException {
+        StubTransaction transaction = transactionsById.get(id);
+        if (transaction == null) {
+            sendError(exchange, 404, "NOT_FOUND_ERROR", "Transaction " + id + " not found");
+            return;
+        }
+        sendJson(exchange, 200, new WompiResponse(transaction.toData(clock.instant()), null));
+    }
+
+    private void findByReference(HttpExchange exchange) throws IOException {
+        String reference = queryParameter(exchange.getRequestURI().getRawQuery(), "reference");
+        if (reference == null) {
+            sendError(exchange, 422, "INPUT_VALIDATION_ERROR", "reference is required");
+            return;
+        }
+        StubTransaction transaction = transactionsByReference.get(reference);
+        List<WompiResponse.TransactionData> data = transaction == null
+                ? List.of() : List.of(transaction.toData(clock.instant()));
+        sendJson(exchange, 200, Map.of("data", data));
+    }
+
+    private static String firstMissingField(JsonNode request) {
+        for (String field : new String[]{"amount_in_cents", "currency", "reference", "customer_email"}) {
+            if (request.path(field).isMissingNode() || request.path(field).isNull()) {
+                return field;
+            }
+        }
+        return request.path("payment_method").path("type").isTextual() ? null : "payment_method.type";
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String type, String reason) throws IOException {
+        sendJson(exchange, status, Map.of("error", Map.of("type", type, "reason", reason)));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = JsonUtils.toJsonBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Runs the stub server until the JVM is stopped
+     * Reads stub.server.port, stub.server.base.path and stub.server.private.key from system properties;
+     * stub.server.events.url and stub.server.events.key make it post signed events to a webhook
+     */
+    public static void main(String[] args) {
+        WompiStubServer stub = new WompiStubServer(
+                System.getProperty("stub.server.base.path", "/v1"),
+                System.getProperty("stub.server.private.key"),
+                TransactionRules.defaults());
+        String eventsUrl = System.getProperty("stub.server.events.url");
+        if (eventsUrl != null && !eventsUrl.isBlank()) {
+            stub.sendEventsTo(eventsUrl, System.getProperty("stub.server.events.key"));
+        }
+        stub.start(Integer.getInteger("stub.server.port", 8089));
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("Wompi stub server running at " + stub.getBaseUrl());
+    }
+}
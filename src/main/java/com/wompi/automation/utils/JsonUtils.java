@@ -1,21 +1,53 @@
 package com.wompi.automation.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.wompi.automation.metrics.StartupTimer;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class for JSON operations
  * Provides methods for JSON serialization and deserialization
+ * Readers and writers are bound to their model class once and cached, so repeated calls skip type resolution
  */
 public class JsonUtils {
-    
-    private static final ObjectMapper objectMapper;
-    
-    static {
-        objectMapper = new ObjectMapper();
+
+    /**
+     * System property that registers the Blackbird module, which replaces reflective
+     * getter and setter calls with generated lambdas
+     */
+    public static final String BLACKBIRD_PROPERTY = "json.blackbird.enabled";
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the shared mapper, which is created on first use instead of when the class loads
+     */
+    private static final class MapperHolder {
+        static final ObjectMapper MAPPER = StartupTimer.time("json mapper", JsonUtils::createMapper);
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (Boolean.getBoolean(BLACKBIRD_PROPERTY)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        return objectMapper;
     }
-    
+
     /**
      * Converts object to JSON string
      * @param object The object to convert
@@ -23,12 +55,39 @@ public class JsonUtils {
      */
     public static String toJson(Object object) {
         try {
-            return objectMapper.writeValueAsString(object);
+            return writerFor(object).writeValueAsString(object);
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting object to JSON", e);
+        }
+    }
+
+    /**
+     * Converts object to UTF-8 encoded JSON without building an intermediate string
+     * @param object The object to convert
+     * @return JSON bytes
+     */
+    public static byte[] toJsonBytes(Object object) {
+        try {
+            return writerFor(object).writeValueAsBytes(object);
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting object to JSON", e);
+        }
+    }
+
+    /**
+     * Writes object as JSON to a stream
+     * The stream is flushed but not closed
+     * @param object The object to convert
+     * @param output The stream to write to
+     */
+    public static void toJson(Object object, OutputStream output) {
+        try {
+            writerFor(object).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(output, object);
         } catch (Exception e) {
             throw new RuntimeException("Error converting object to JSON", e);
         }
     }
-    
+
     /**
      * Converts JSON string to object
      * @param json The JSON string
@@ -37,23 +96,92 @@ public class JsonUtils {
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
         try {
-            return objectMapper.readValue(json, clazz);
+            return readerFor(clazz).readValue(json);
         } catch (Exception e) {
             throw new RuntimeException("Error converting JSON to object", e);
         }
     }
-    
+
+    /**
+     * Converts UTF-8 encoded JSON to object
+     * @param json The JSON bytes
+     * @param clazz The target class
+     * @return Object of specified class
+     */
+    public static <T> T fromJson(byte[] json, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting JSON to object", e);
+        }
+    }
+
+    /**
+     * Converts an already parsed JSON tree to object
+     * @param tree The JSON tree, for example a subtree of a parsed document
+     * @param clazz The target class
+     * @return Object of specified class
+     */
+    public static <T> T fromJson(JsonNode tree, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(tree);
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting JSON to object", e);
+        }
+    }
+
+    /**
+     * Reads JSON from a stream and converts it to object
+     * The stream is not closed
+     * @param input The stream to read from
+     * @param clazz The target class
+     * @return Object of specified class
+     */
+    public static <T> T fromJson(InputStream input, Class<T> clazz) {
+        try {
+            return readerFor(clazz).without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValue(input);
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting JSON to object", e);
+        }
+    }
+
     /**
      * Pretty prints JSON string
+     * Tokens are copied straight from the parser to the generator without building an object tree
      * @param json The JSON string to format
      * @return Formatted JSON string
      */
     public static String prettyPrint(String json) {
-        try {
-            Object jsonObject = objectMapper.readValue(json, Object.class);
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonObject);
+        StringWriter output = new StringWriter();
+        try (JsonParser parser = getFactory().createParser(json);
+             JsonGenerator generator = getFactory().createGenerator(output)) {
+            if (parser.nextToken() == null) {
+                return json;
+            }
+            generator.useDefaultPrettyPrinter();
+            generator.copyCurrentStructure(parser);
         } catch (Exception e) {
             return json; // Return original if formatting fails
         }
+        return output.toString();
+    }
+
+    /**
+     * Gets the parser factory bound to the shared mapper, so parsers can read subtrees
+     * @return JSON factory of the shared mapper
+     */
+    static JsonFactory getFactory() {
+        return MapperHolder.MAPPER.getFactory();
+    }
+
+    private static ObjectReader readerFor(Class<?> clazz) {
+        return readers.computeIfAbsent(clazz, MapperHolder.MAPPER::readerFor);
+    }
+
+    private static ObjectWriter writerFor(Object object) {
+        if (object == null) {
+            return MapperHolder.MAPPER.writer();
+        }
+        return writers.computeIfAbsent(object.getClass(), MapperHolder.MAPPER::writerFor);
     }
 }
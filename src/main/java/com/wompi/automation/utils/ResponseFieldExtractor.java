@@ -0,0 +1,191 @@
+package com.wompi.automation.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pulls selected fields out of a JSON document with a streaming parser
+ * Paths are dot separated (data.status, error.messages) and numeric segments index into arrays (data.0.id);
+ * everything outside the requested paths is skipped and parsing stops once every path has been found
+ */
+public final class ResponseFieldExtractor {
+
+    private final PathNode root = new PathNode();
+    private final int pathCount;
+
+    private ResponseFieldExtractor(String... paths) {
+        int distinctPaths = 0;
+        for (String path : paths) {
+            PathNode node = root;
+            for (String segment : path.split("\\.")) {
+                node = node.children.computeIfAbsent(segment, key -> new PathNode());
+            }
+            if (node.path == null) {
+                node.path = path;
+                distinctPaths++;
+            }
+        }
+        this.pathCount = distinctPaths;
+    }
+
+    /**
+     * Creates an extractor for a fixed set of paths
+     * Extractors are immutable and can be shared between threads
+     * @param paths The dot separated paths to extract
+     * @return Extractor for the given paths
+     */
+    public static ResponseFieldExtractor of(String... paths) {
+        return new ResponseFieldExtractor(paths);
+    }
+
+    /**
+     * Extracts the configured paths from a response body
+     * @param response The API response
+     * @return Values by path; paths that are absent from the body are not in the map
+     */
+    public Map<String, JsonNode> extract(Response response) {
+        return extract(response.asByteArray());
+    }
+
+    /**
+     * Extracts the configured paths from UTF-8 encoded JSON
+     * @param json The JSON bytes
+     * @return Values by path; paths that are absent from the body are not in the map
+     */
+    public Map<String, JsonNode> extract(byte[] json) {
+        try (JsonParser parser = JsonUtils.getFactory().createParser(json)) {
+            return extract(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Error extracting fields from JSON", e);
+        }
+    }
+
+    /**
+     * Extracts the configured paths from a JSON stream
+     * Reading stops as soon as every path has been found; the stream is not closed
+     * @param json The JSON stream
+     * @return Values by path; paths that are absent from the body are not in the map
+     */
+    public Map<String, JsonNode> extract(InputStream json) {
+        try (JsonParser parser = JsonUtils.getFactory().createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return extract(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Error extracting fields from JSON", e);
+        }
+    }
+
+    /**
+     * Extracts a single path as text
+     * @param response The API response
+     * @param path One of the configured paths
+     * @return Text value, or null when the field is absent or null
+     */
+    public String extractText(Response response, String path) {
+        return asText(extract(response).get(path));
+    }
+
+    /**
+     * Converts an extracted value to text
+     * @param value The extracted value
+     * @return Text of a scalar, JSON of a container, or null when the value is absent or null
+     */
+    public static String asText(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    private Map<String, JsonNode> extract(JsonParser parser) throws IOException {
+        Map<String, JsonNode> values = new LinkedHashMap<>();
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            walk(parser, root, values);
+        }
+        return values;
+    }
+
+    /**
+     * Walks the container the parser is positioned on
+     * @return true once every path has been found
+     */
+    private boolean walk(JsonParser parser, PathNode node, Map<String, JsonNode> values) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                PathNode child = node.children.get(parser.currentName());
+                parser.nextToken();
+                if (visit(parser, child, values)) {
+                    return true;
+                }
+            }
+        } else {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                PathNode child = node.children.get(Integer.toString(index++));
+                if (visit(parser, child, values)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean visit(JsonParser parser, PathNode node, Map<String, JsonNode> values) throws IOException {
+        if (node == null) {
+            parser.skipChildren();
+            return false;
+        }
+        if (node.path != null) {
+            JsonNode value = parser.readValueAsTree();
+            if (value == null) {
+                value = NullNode.getInstance();
+            }
+            values.put(node.path, value);
+            collect(value, node, values);
+            return values.size() == pathCount;
+        }
+        if (parser.currentToken().isStructStart()) {
+            return walk(parser, node, values);
+        }
+        return false;
+    }
+
+    /**
+     * Resolves paths nested under one that was already read as a tree
+     */
+    private static void collect(JsonNode value, PathNode node, Map<String, JsonNode> values) {
+        for (Map.Entry<String, PathNode> entry : node.children.entrySet()) {
+            JsonNode child = value.isArray() ? value.path(parseIndex(entry.getKey())) : value.path(entry.getKey());
+            if (child.isMissingNode()) {
+                continue;
+            }
+            if (entry.getValue().path != null) {
+                values.put(entry.getValue().path, child);
+            }
+            collect(child, entry.getValue(), values);
+        }
+    }
+
+    private static int parseIndex(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private String path;
+    }
+}
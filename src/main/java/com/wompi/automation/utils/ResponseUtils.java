@@ -1,9 +1,14 @@
 package com.wompi.automation.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wompi.automation.logging.AsyncResponseLogger;
 import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.StringJoiner;
+
 /**
  * Utility class for API response validation and logging
  * Provides methods for response analysis and debugging
@@ -12,19 +17,18 @@ public class ResponseUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(ResponseUtils.class);
     
+    private static final ResponseFieldExtractor ERROR_FIELDS =
+            ResponseFieldExtractor.of("error.message", "error.reason", "error.messages");
+    
     /**
      * Logs the complete API response for debugging
+     * The response is sampled and handed to {@link AsyncResponseLogger}, which writes it from a background thread
+     * with the Authorization header redacted and long bodies truncated
      * @param response The API response to log
      * @param testName The name of the test for context
      */
     public static void logResponse(Response response, String testName) {
-        logger.info("=== {} Response Details ===", testName);
-        logger.info("Status Code: {}", response.getStatusCode());
-        logger.info("Status Line: {}", response.getStatusLine());
-        logger.info("Headers: {}", response.getHeaders().asList());
-        logger.info("Response Body: {}", response.getBody().asString());
-        logger.info("Response Time: {} ms", response.getTime());
-        logger.info("=== End Response Details ===");
+        AsyncResponseLogger.shared().log(response, testName);
     }
     
     /**
@@ -59,26 +63,49 @@ public class ResponseUtils {
     
     /**
      * Extracts error message from response
+     * Looks at error.message, error.reason and the per-field error.messages object, in that order
      * @param response The API response
      * @return Error message or null if not found
      */
     public static String extractErrorMessage(Response response) {
         try {
-            String responseBody = response.getBody().asString();
-            if (responseBody.contains("message")) {
-                // Simple JSON parsing for error message
-                int messageStart = responseBody.indexOf("\"message\":\"") + 11;
-                int messageEnd = responseBody.indexOf("\"", messageStart);
-                if (messageStart > 10 && messageEnd > messageStart) {
-                    return responseBody.substring(messageStart, messageEnd);
-                }
+            Map<String, JsonNode> fields = ERROR_FIELDS.extract(response);
+            String message = ResponseFieldExtractor.asText(fields.get("error.message"));
+            if (message == null) {
+                message = ResponseFieldExtractor.asText(fields.get("error.reason"));
+            }
+            if (message == null) {
+                message = formatMessages(fields.get("error.messages"));
             }
+            return message;
         } catch (Exception e) {
             logger.warn("Could not extract error message from response", e);
         }
         return null;
     }
     
+    /**
+     * Formats Wompi validation messages, which map each field to a list of messages
+     * @param messages The error.messages value
+     * @return Messages as "field: message, message; field: message", or null if absent
+     */
+    private static String formatMessages(JsonNode messages) {
+        if (messages == null || !messages.isObject()) {
+            return ResponseFieldExtractor.asText(messages);
+        }
+        StringJoiner joiner = new StringJoiner("; ");
+        messages.fields().forEachRemaining(field -> {
+            StringJoiner fieldMessages = new StringJoiner(", ", field.getKey() + ": ", "");
+            if (field.getValue().isArray()) {
+                field.getValue().forEach(message -> fieldMessages.add(message.asText()));
+            } else {
+                fieldMessages.add(field.getValue().asText());
+            }
+            joiner.add(fieldMessages.toString());
+        });
+        return joiner.length() == 0 ? null : joiner.toString();
+    }
+    
     /**
      * Validates response time is within acceptable limits
      * @param response The API response
@@ -0,0 +1,38 @@
+package com.wompi.automation.context;
+
+import com.wompi.automation.cache.TransactionStatusCache;
+import com.wompi.automation.cassette.Cassette;
+import com.wompi.automation.load.BurstResult;
+import com.wompi.automation.models.NequiPaymentRequest;
+import com.wompi.automation.models.PSEPaymentRequest;
+import com.wompi.automation.models.WompiResponse;
+import com.wompi.automation.pages.WompiPaymentPage;
+import io.restassured.response.Response;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Per-scenario state shared between step definitions
+ * Created by picocontainer for every scenario, so parallel scenarios never share a client or results;
+ * only the underlying connection pool is shared
+ */
+@Getter
+@Setter
+public class ScenarioContext {
+
+    private WompiPaymentPage paymentPage;
+    private PSEPaymentRequest paymentRequest;
+    private NequiPaymentRequest nequiPaymentRequest;
+    private Response apiResponse;
+    private WompiResponse wompiResponse;
+    private String transactionId;
+    private BurstResult performanceResult;
+    private String performanceOperation;
+
+    public ScenarioContext(SharedHttpClient httpClient) {
+        WompiPaymentPage page = new WompiPaymentPage(SuiteEnvironment.getBaseUrl(), httpClient.get())
+                .withStatusCache(TransactionStatusCache.shared());
+        Cassette cassette = SuiteEnvironment.getCassette();
+        this.paymentPage = cassette == null ? page : page.withCassette(cassette);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wompi.automation.context;
+
+import com.wompi.automation.http.PooledHttpClient;
+
+/**
+ * Picocontainer handle to the JVM-wide pooled HTTP client
+ * Picocontainer creates a handle per scenario, but every handle points at the same connection pool
+ */
+public class SharedHttpClient {
+
+    public PooledHttpClient get() {
+        return PooledHttpClient.shared();
+    }
+}
@@ -0,0 +1,56 @@
+package com.wompi.automation.context;
+
+import com.wompi.automation.cassette.Cassette;
+import com.wompi.automation.config.ConfigManager;
+
+/**
+ * Suite-wide endpoint and cassette prepared before any scenario runs
+ * The hooks that start the stub server and open the cassette register them here, so scenario state
+ * reads them without depending on glue classes
+ */
+public class SuiteEnvironment {
+
+    private static volatile String stubBaseUrl;
+    private static volatile Cassette cassette;
+
+    /**
+     * Gets the base URL scenarios should send their requests to
+     * @return Stub base URL when the stub is running, otherwise the configured UAT URL
+     */
+    public static String getBaseUrl() {
+        String url = stubBaseUrl;
+        return url == null ? ConfigManager.getInstance().getUatPrincipalUrl() : url;
+    }
+
+    /**
+     * Checks whether requests go to the embedded stub server
+     * @return true if the stub server is running
+     */
+    public static boolean isStubRunning() {
+        return stubBaseUrl != null;
+    }
+
+    /**
+     * Registers the base URL of the running stub server
+     * @param baseUrl Stub base URL, or null once the stub has stopped
+     */
+    public static void setStubBaseUrl(String baseUrl) {
+        stubBaseUrl = baseUrl;
+    }
+
+    /**
+     * Gets the cassette scenarios should send their requests through
+     * @return Open cassette, or null when neither recording nor replaying
+     */
+    public static Cassette getCassette() {
+        return cassette;
+    }
+
+    /**
+     * Registers the open suite cassette
+     * @param openCassette Open cassette, or null once it is closed
+     */
+    public static void setCassette(Cassette openCassette) {
+        cassette = openCassette;
+    }
+}
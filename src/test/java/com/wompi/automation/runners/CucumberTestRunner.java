@@ -1,7 +1,13 @@
 package com.wompi.automation.runners;
 
+import com.wompi.automation.sharding.ShardSelector;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.annotations.DataProvider;
+
+import java.util.Arrays;
 
 /**
  * Cucumber Test Runner for Wompi API tests
@@ -21,4 +27,29 @@ import io.cucumber.testng.CucumberOptions;
         monochrome = true
 )
 public class CucumberTestRunner extends AbstractTestNGCucumberTests {
+
+    /**
+     * Provides scenarios to TestNG as a parallel data provider
+     * The thread count is set by ParallelExecutionListener from test.parallel.threads.
+     * With shard.count above 1 only the scenarios of shard.index are provided; see {@link ShardSelector}
+     * @return Scenario and feature pairs to execute
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        Object[][] scenarios = super.scenarios();
+        ShardSelector shard = ShardSelector.fromSystemProperties();
+        if (!shard.isSharded()) {
+            return scenarios;
+        }
+        Object[][] selected = Arrays.stream(scenarios)
+                .filter(scenario -> {
+                    Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+                    return shard.accepts(pickle.getUri(), pickle.getLine(), pickle.getTags());
+                })
+                .toArray(Object[][]::new);
+        System.out.println("Shard " + shard.getIndex() + " of " + shard.getCount() + " runs "
+                + selected.length + " of " + scenarios.length + " scenario(s)");
+        return selected;
+    }
 }
@@ -0,0 +1,60 @@
+package com.wompi.automation.runners;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * TestNG listener that configures parallel scenario execution
+ * Reads the thread count from test.parallel.threads before the suite starts
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener {
+
+    static final String PARALLEL_THREADS_KEY = "test.parallel.threads";
+    private static final int DEFAULT_THREADS = 1;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = resolveThreadCount();
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+        }
+        System.out.println("Running scenarios with " + threads + " thread(s)");
+    }
+
+    /**
+     * Resolves the scenario thread count
+     * A -Dtest.parallel.threads system property takes precedence over allure.properties
+     * @return Number of threads used to run scenarios, at least 1
+     */
+    static int resolveThreadCount() {
+        String value = System.getProperty(PARALLEL_THREADS_KEY);
+        if (value == null) {
+            value = loadAllureProperties().getProperty(PARALLEL_THREADS_KEY);
+        }
+        if (value == null || value.isBlank()) {
+            return DEFAULT_THREADS;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + PARALLEL_THREADS_KEY + " value: " + value, e);
+        }
+    }
+
+    private static Properties loadAllureProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = ParallelExecutionListener.class.getClassLoader()
+                .getResourceAsStream("allure.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error loading allure properties", e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wompi.automation.steps;
+
+import com.wompi.automation.cassette.Cassette;
+import com.wompi.automation.cassette.CassetteMode;
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.context.SuiteEnvironment;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Opens the suite cassette when recording or replaying API exchanges
+ * Enabled with -Dcassette.mode=record or replay; the journal is cassette.file
+ * (defaults to target/cassettes/wompi.cassette)
+ */
+public class CassetteHooks {
+
+    private static volatile Cassette cassette;
+
+    @BeforeAll(order = 1)
+    public static void openCassette() {
+        ConfigManager config = ConfigManager.getInstance();
+        String mode = config.getProperty("cassette.mode");
+        if (mode != null && !mode.isBlank()) {
+            String file = config.getProperty("cassette.file");
+            cassette = Cassette.open(Path.of(file == null ? "target/cassettes/wompi.cassette" : file),
+                    CassetteMode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), config.getPrivateKey());
+            SuiteEnvironment.setCassette(cassette);
+        }
+    }
+
+    @AfterAll
+    public static void closeCassette() {
+        if (cassette != null) {
+            SuiteEnvironment.setCassette(null);
+            cassette.close();
+            cassette = null;
+        }
+    }
+}
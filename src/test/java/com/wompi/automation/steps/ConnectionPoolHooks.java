@@ -0,0 +1,29 @@
+package com.wompi.automation.steps;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.context.SuiteEnvironment;
+import com.wompi.automation.http.PooledHttpClient;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+/**
+ * Warms up the shared connection pool before scenarios run and reports its reuse afterwards
+ * The warm-up is enabled by setting http.warmup.connections above zero
+ */
+public class ConnectionPoolHooks {
+
+    @BeforeAll(order = 2)
+    public static void warmUpConnections() {
+        int connections = ConfigManager.getInstance().getIntProperty("http.warmup.connections", 0);
+        if (connections > 0) {
+            PooledHttpClient.shared().warmUp(SuiteEnvironment.getBaseUrl(), connections);
+        }
+    }
+
+    @AfterAll
+    public static void reportConnectionReuse() {
+        PooledHttpClient client = PooledHttpClient.shared();
+        System.out.println("HTTP connections: " + client.getNewConnectionCount() + " opened, "
+                + client.getReusedConnectionCount() + " reused");
+    }
+}
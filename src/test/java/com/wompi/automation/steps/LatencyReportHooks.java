@@ -0,0 +1,60 @@
+package com.wompi.automation.steps;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.metrics.LatencyRecorder;
+import com.wompi.automation.metrics.LatencyReport;
+import com.wompi.automation.metrics.LatencySnapshot;
+import com.wompi.automation.metrics.StartupTimer;
+import io.cucumber.java.AfterAll;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes the API latency percentiles of the run
+ * Writes them in Prometheus text format to metrics.prometheus.file (defaults to target/metrics/latency.prom)
+ * and attaches them to an Allure result named "API latency percentiles", so builds can be compared.
+ * The same result carries the breakdown of the time from JVM start to the first request
+ */
+public class LatencyReportHooks {
+
+    @AfterAll
+    public static void publishLatencies() {
+        List<LatencySnapshot> latencies = LatencyRecorder.shared().snapshot();
+        if (latencies.isEmpty()) {
+            return;
+        }
+        String table = LatencyReport.toText(latencies);
+        String prometheus = LatencyReport.toPrometheus(latencies);
+        String startup = StartupTimer.report();
+        System.out.print(table);
+        System.out.print(startup);
+
+        String file = ConfigManager.getInstance().getProperty("metrics.prometheus.file");
+        LatencyReport.writePrometheus(Path.of(file == null ? "target/metrics/latency.prom" : file), latencies);
+
+        // Run-level hooks have no running test, so the report gets a result of its own to attach to
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("api-latency-percentiles")
+                .setName("API latency percentiles")
+                .setFullName("LatencyReportHooks.publishLatencies")
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(new Label().setName("suite").setValue("Metrics"))));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("Latency percentiles", "text/plain", "txt", table.getBytes(StandardCharsets.UTF_8));
+        lifecycle.addAttachment("Prometheus metrics", "text/plain", "prom", prometheus.getBytes(StandardCharsets.UTF_8));
+        lifecycle.addAttachment("Startup time breakdown", "text/plain", "txt", startup.getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
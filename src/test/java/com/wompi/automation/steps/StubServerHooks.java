@@ -0,0 +1,41 @@
+package com.wompi.automation.steps;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.context.SuiteEnvironment;
+import com.wompi.automation.stub.TransactionRules;
+import com.wompi.automation.stub.WompiStubServer;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+/**
+ * Starts the embedded Wompi stub server when the suite runs offline
+ * Enabled with stub.server.enabled=true from any configuration layer; scenarios then send their requests to the stub,
+ * which posts its transaction events to the webhook receiver when that is running
+ */
+public class StubServerHooks {
+
+    private static volatile WompiStubServer stubServer;
+
+    @BeforeAll(order = 1)
+    public static void startStubServer() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (Boolean.parseBoolean(config.getProperty("stub.server.enabled"))) {
+            WompiStubServer server = new WompiStubServer("/v1", config.getPrivateKey(), TransactionRules.defaults());
+            String webhookUrl = WebhookHooks.getUrl();
+            if (webhookUrl != null) {
+                server.sendEventsTo(webhookUrl, config.getEventsKey());
+            }
+            stubServer = server.start(0);
+            SuiteEnvironment.setStubBaseUrl(stubServer.getBaseUrl());
+        }
+    }
+
+    @AfterAll
+    public static void stopStubServer() {
+        if (stubServer != null) {
+            SuiteEnvironment.setStubBaseUrl(null);
+            stubServer.close();
+            stubServer = null;
+        }
+    }
+}
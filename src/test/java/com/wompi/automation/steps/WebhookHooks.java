@@ -0,0 +1,55 @@
+package com.wompi.automation.steps;
+
+import com.wompi.automation.config.ConfigManager;
+import com.wompi.automation.events.TransactionEventBus;
+import com.wompi.automation.events.WebhookReceiver;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+/**
+ * Starts the webhook receiver, so scenarios wait for transaction events instead of polling
+ * Enabled with webhook.enabled=true; binds webhook.host (defaults to 127.0.0.1) and webhook.port (defaults to an
+ * ephemeral port). Starts before the stub server, which then posts its events to the receiver
+ */
+public class WebhookHooks {
+
+    private static volatile WebhookReceiver receiver;
+
+    @BeforeAll(order = 0)
+    public static void startWebhookReceiver() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (Boolean.parseBoolean(config.getProperty("webhook.enabled"))) {
+            String host = config.getProperty("webhook.host");
+            receiver = WebhookReceiver.fromConfig().start(host == null || host.isBlank() ? "127.0.0.1" : host.trim(),
+                    config.getIntProperty("webhook.port", 0));
+        }
+    }
+
+    @AfterAll
+    public static void stopWebhookReceiver() {
+        if (receiver != null) {
+            System.out.println("Webhook events: " + receiver.getPublishedCount() + " published, "
+                    + receiver.getRejectedCount() + " rejected, " + receiver.getIgnoredCount() + " ignored");
+            receiver.close();
+            receiver = null;
+        }
+    }
+
+    /**
+     * Gets the URL the receiver accepts events on
+     * @return Event URL, or null when the receiver is not running
+     */
+    public static String getUrl() {
+        WebhookReceiver current = receiver;
+        return current == null ? null : current.getUrl();
+    }
+
+    /**
+     * Gets the bus verified events are published to
+     * @return Event bus, or null when the receiver is not running
+     */
+    public static TransactionEventBus getEventBus() {
+        WebhookReceiver current = receiver;
+        return current == null ? null : current.getEventBus();
+    }
+}
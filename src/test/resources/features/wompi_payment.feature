@@ -33,7 +33,7 @@ Feature: Wompi Payment Integration Tests
 
   @negative @timeout
   Scenario: PSE payment transaction timeout
-    Given I have valid PSE payment data
+    Given I have PSE payment data that will not be authenticated
     When I create a PSE payment transaction
     And the user does not complete authentication within timeout period
     Then the transaction should expire
@@ -43,6 +43,7 @@ Feature: Wompi Payment Integration Tests
   @negative @invalid-merchant
   Scenario: PSE payment with invalid merchant credentials
     Given I have invalid merchant credentials
+    And I have valid PSE payment data
     When I create a PSE payment transaction
     Then the API should return authentication error
     And I should receive an unauthorized error message
@@ -70,3 +71,15 @@ Feature: Wompi Payment Integration Tests
     And I should receive an error message
     And the transaction status should be "DECLINED"
 
+  @performance
+  Scenario: PSE payment creation meets its latency and throughput SLO
+    When I send 500 "create PSE payment" requests
+    Then the p99 latency of "create PSE payment" over 500 requests should be below 800 ms
+    And throughput should be at least 100 transactions per second
+    And the error rate should be below 1%
+
+  @performance
+  Scenario: Transaction status lookups meet their latency SLO
+    When I send 500 "query transaction status" requests
+    Then the p99 latency of "query transaction status" over 500 requests should be below 300 ms
+    And the error rate should be below 1%